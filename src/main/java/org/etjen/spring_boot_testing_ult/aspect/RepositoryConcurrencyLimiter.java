@@ -0,0 +1,59 @@
+package org.etjen.spring_boot_testing_ult.aspect;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * With virtual threads every request gets its own thread, so thousands of them can pile up on the
+ * Hikari pool at once. This caps how many may work against the database and makes the rest wait here.
+ * Transactional service methods are limited too, and a thread that already holds a permit (a repository
+ * call inside such a transaction) doesn't take a second one, otherwise it could deadlock on itself.
+ * This only bounds the pool while connections are returned with the permit, which is why the virtual-threads
+ * profile turns open-in-view off.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class RepositoryConcurrencyLimiter {
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final ThreadLocal<Boolean> holdsPermit = new ThreadLocal<>();
+
+    public RepositoryConcurrencyLimiter(@Value("${employee.repository.max-concurrency}") int maxConcurrency,
+                                        @Value("${employee.repository.acquire-timeout}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))"
+            + " || @annotation(org.springframework.transaction.annotation.Transactional)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (holdsPermit.get() != null) {
+            return joinPoint.proceed();
+        }
+        if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new TransientDataAccessResourceException(
+                    "Timed out after " + acquireTimeout + " waiting for a database permit in " + joinPoint.getSignature().toShortString());
+        }
+        holdsPermit.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            holdsPermit.remove();
+            permits.release();
+        }
+    }
+}
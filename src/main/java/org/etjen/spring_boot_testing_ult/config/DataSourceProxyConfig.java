@@ -0,0 +1,38 @@
+package org.etjen.spring_boot_testing_ult.config;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in a datasource-proxy that hands each executed statement to the
+ * {@link QueryExecutionListener} beans, such as SQL tracing and statement counting. Only the bean named
+ * {@value #DATA_SOURCE_BEAN_NAME} is wrapped, whether auto-configured or the replica routing one, so that other
+ * DataSources a library or test registers are left alone.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DataSourceProxyConfig {
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    // static, so that post-processing DataSources doesn't force this configuration to be created early
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN_NAME.equals(beanName) && bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource);
+                    listeners.orderedStream().forEach(builder::listener);
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+}
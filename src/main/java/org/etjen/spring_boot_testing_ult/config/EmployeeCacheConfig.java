@@ -0,0 +1,63 @@
+package org.etjen.spring_boot_testing_ult.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_EMAIL;
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_FULL_NAME;
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_ID;
+
+@Configuration(proxyBeanMethods = false)
+@EnableCaching
+@ConditionalOnProperty(name = "employee.cache.enabled", havingValue = "true")
+public class EmployeeCacheConfig {
+    @Bean
+    public CacheManager cacheManager(@Value("${employee.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${employee.cache.ttl:10m}") Duration ttl,
+                                     @Value("${employee.cache.negative-ttl:30s}") Duration negativeTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(EMPLOYEES_BY_ID, EMPLOYEES_BY_EMAIL, EMPLOYEES_BY_FULL_NAME);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new NegativeResultExpiry(ttl, negativeTtl))
+                .recordStats());
+        return cacheManager;
+    }
+
+    /**
+     * Expires cached misses, which Spring stores as {@link NullValue}, sooner than found employees.
+     */
+    static class NegativeResultExpiry implements Expiry<Object, Object> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        NegativeResultExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return value == NullValue.INSTANCE ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.etjen.spring_boot_testing_ult.config;
+
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+/**
+ * Employee is an {@code @Entity}, so JPA would also claim the R2DBC repository and then refuse it for being
+ * reactive. Repository slice tests don't scan configuration classes and import this one themselves.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableJpaRepositories(basePackageClasses = EmployeeRepository.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveCrudRepository.class))
+public class JpaRepositoryConfig {
+}
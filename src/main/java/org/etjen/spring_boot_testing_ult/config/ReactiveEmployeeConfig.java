@@ -0,0 +1,63 @@
+package org.etjen.spring_boot_testing_ult.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.etjen.spring_boot_testing_ult.repository.reactive.ReactiveEmployeeRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+// only the reactive package; the JPA repositories are set up by JpaRepositoryConfig
+@EnableR2dbcRepositories(basePackageClasses = ReactiveEmployeeRepository.class)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveEmployeeConfig {
+    public static final String REACTIVE_TRANSACTION_MANAGER = "reactiveTransactionManager";
+
+    /**
+     * Tomcat is on the classpath for the servlet stack and would otherwise be picked for the reactive server too,
+     * with its pool of 200 request threads. Netty serves every connection from one event loop thread per core.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Boot backs off from the JDBC DataSource, and with it JPA and Flyway, as soon as an R2DBC ConnectionFactory
+     * exists, but the blocking services are still part of this profile. Declared like Boot's own Hikari pool;
+     * with a read replica configured {@link ReadReplicaConfig} declares it instead.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    @ConditionalOnExpression("'${employee.replica.url:}'.isEmpty()")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Boot only creates its JPA transaction manager when no other one exists, so with the R2DBC one below
+     * it has to be declared here. It stays the default for the blocking services.
+     */
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean(REACTIVE_TRANSACTION_MANAGER)
+    public R2dbcTransactionManager reactiveTransactionManager(ConnectionFactory connectionFactory) {
+        return new R2dbcTransactionManager(connectionFactory);
+    }
+}
@@ -0,0 +1,59 @@
+package org.etjen.spring_boot_testing_ult.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.etjen.spring_boot_testing_ult.datasource.ReadYourWritesFilter;
+import org.etjen.spring_boot_testing_ult.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces the auto-configured DataSource with a {@link ReplicaRoutingDataSource} once {@code employee.replica.url}
+ * is set. Both pools take the {@code spring.datasource.hikari} settings. They are built here rather than exposed
+ * as beans, so that there is still a single DataSource for Flyway, JPA and datasource-proxy to pick up.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "employee.replica.url")
+public class ReadReplicaConfig {
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${employee.replica.url}") String replicaUrl,
+                                 @Value("${employee.replica.username:${spring.datasource.username:}}") String replicaUsername,
+                                 @Value("${employee.replica.password:${spring.datasource.password:}}") String replicaPassword) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        HikariDataSource replica = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        // the auto-configured pool metrics only reach the pool the DataSource unwraps to
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new ReplicaRoutingDataSource(primary, replica);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${employee.replica.stickiness:5s}") Duration stickiness) {
+        return new ReadYourWritesFilter(stickiness);
+    }
+}
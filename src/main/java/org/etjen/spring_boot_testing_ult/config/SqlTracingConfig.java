@@ -0,0 +1,93 @@
+package org.etjen.spring_boot_testing_ult.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces {@code spring.jpa.show-sql}: a datasource-proxy listener (see {@link DataSourceProxyConfig}) logs a sample
+ * of the JDBC statements, plus all slow ones, as key-value events on the {@value #SQL_LOGGER} logger.
+ * logback-spring.xml hands that logger to an asynchronous appender, so request threads never wait on the console.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "employee.sql-trace.enabled", havingValue = "true")
+public class SqlTracingConfig {
+    public static final String SQL_LOGGER = "employee.sql";
+
+    @Bean
+    public SqlTracingListener sqlTracingListener(@Value("${employee.sql-trace.sample-rate:0.01}") double sampleRate,
+                                                 @Value("${employee.sql-trace.slow-threshold:200ms}") Duration slowThreshold) {
+        return new SqlTracingListener(sampleRate, slowThreshold);
+    }
+
+    public static class SqlTracingListener implements QueryExecutionListener {
+        private static final Logger log = LoggerFactory.getLogger(SQL_LOGGER);
+
+        private final double sampleRate;
+        private final long slowThresholdMillis;
+
+        public SqlTracingListener(double sampleRate, Duration slowThreshold) {
+            this.sampleRate = sampleRate;
+            this.slowThresholdMillis = slowThreshold.toMillis();
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            // decide before building anything, so unsampled statements cost one random number
+            boolean slow = execInfo.getElapsedTime() >= slowThresholdMillis;
+            LoggingEventBuilder event;
+            if (slow) {
+                event = log.atWarn();
+            } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && log.isInfoEnabled()) {
+                event = log.atInfo();
+            } else {
+                return;
+            }
+            event.addKeyValue("sql", queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")))
+                    .addKeyValue("binds", queryInfoList.stream()
+                            .flatMap(queryInfo -> queryInfo.getParametersList().stream())
+                            .mapToInt(List::size)
+                            .sum())
+                    .addKeyValue("batchSize", execInfo.isBatch() ? execInfo.getBatchSize() : 0)
+                    .addKeyValue("durationMs", execInfo.getElapsedTime())
+                    .addKeyValue("rows", rows(execInfo.getResult()))
+                    .addKeyValue("success", execInfo.isSuccess())
+                    .addKeyValue("connection", execInfo.getConnectionId())
+                    .log(slow ? "slow statement" : "sampled statement");
+        }
+
+        // update counts are only known for DML; a query's row count would mean wrapping every ResultSet
+        static Integer rows(Object result) {
+            if (result instanceof Integer updateCount) {
+                return updateCount;
+            }
+            if (result instanceof Long updateCount) {
+                return Math.toIntExact(updateCount);
+            }
+            if (result instanceof int[] batchCounts) {
+                int rows = 0;
+                for (int count : batchCounts) {
+                    rows += Math.max(count, 0);
+                }
+                return rows;
+            }
+            return null;
+        }
+    }
+}
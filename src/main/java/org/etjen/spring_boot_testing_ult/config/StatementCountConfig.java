@@ -0,0 +1,22 @@
+package org.etjen.spring_boot_testing_ult.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.etjen.spring_boot_testing_ult.metrics.StatementCountFilter;
+import org.etjen.spring_boot_testing_ult.metrics.StatementCounter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class StatementCountConfig {
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public StatementCountFilter statementCountFilter(StatementCounter statementCounter, MeterRegistry meterRegistry) {
+        return new StatementCountFilter(statementCounter, meterRegistry);
+    }
+}
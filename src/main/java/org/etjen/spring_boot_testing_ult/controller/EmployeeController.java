@@ -1,21 +1,46 @@
 package org.etjen.spring_boot_testing_ult.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.etjen.spring_boot_testing_ult.dto.BulkDeleteResult;
+import org.etjen.spring_boot_testing_ult.dto.EmployeeCursor;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePage;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
 import org.etjen.spring_boot_testing_ult.model.Employee;
 import org.etjen.spring_boot_testing_ult.service.EmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/employee")
+@Profile("!reactive")
 public class EmployeeController {
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MIN_SEARCH_LENGTH = 3;
+    static final int MAX_SEARCH_LIMIT = 100;
+
     private EmployeeService employeeService;
+    private ObjectWriter exportWriter;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        // the servlet response buffers and chunks the output, so don't flush or close it after every line
+        this.exportWriter = objectMapper.writerFor(Employee.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
     }
 
     @PostMapping
@@ -24,32 +49,116 @@ public class EmployeeController {
         return employeeService.saveEmployee(employee);
     }
 
+    @PostMapping("batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<Employee> createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.saveEmployees(employees);
+    }
+
     @GetMapping
     public List<Employee> getAllEmployees() {
         return employeeService.getAllEmployees();
     }
 
+    @GetMapping(params = "limit")
+    public EmployeePage getEmployeePage(@RequestParam(name = "after", required = false) String after,
+                                        @RequestParam("limit") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return employeeService.getEmployeePage(decodeCursor(after), limit);
+    }
+
+    @GetMapping("search")
+    public EmployeePage searchEmployees(@RequestParam("q") String query,
+                                       @RequestParam(name = "after", required = false) String after,
+                                       @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        // shorter terms have no trigram to look up and would scan the whole table
+        if (query.isBlank() || query.trim().length() < MIN_SEARCH_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must have at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        return employeeService.searchEmployees(query, decodeCursor(after), limit);
+    }
+
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        StreamingResponseBody body = outputStream -> employeeService.exportEmployees(employee -> {
+            try {
+                exportWriter.writeValue(outputStream, employee);
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") Long id) {
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") Long id, WebRequest request) {
         Optional<Employee> employee = employeeService.getEmployeeById(id);
-        return employee.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        if (employee.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = EmployeeETags.of(employee.get());
+        // a polling client that already has this version gets a bodyless 304 and nothing is serialized
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(employee.get());
     }
 
     @PutMapping("{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") Long id, @RequestBody Employee employee) {
+    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") Long id, @RequestBody Employee employee,
+                                                   @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EmployeeETags.expectedVersion(ifMatch);
         return employeeService.getEmployeeById(id)
                 .map(savedEmployee -> {
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
-                    Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-                    return ResponseEntity.ok(updatedEmployee);
+                    // copy instead of mutating: the looked up instance may be shared through a cache
+                    Employee updatedEmployee = employeeService.updateEmployee(Employee.builder()
+                            .id(savedEmployee.getId())
+                            .firstName(employee.getFirstName())
+                            .lastName(employee.getLastName())
+                            .email(employee.getEmail())
+                            // the database compares the version, so a stale If-Match fails even if the lookup was cached;
+                            // without one the service reads the current version itself, on the primary
+                            .version(expectedVersion)
+                            .build());
+                    return ResponseEntity.ok().eTag(EmployeeETags.of(updatedEmployee)).body(updatedEmployee);
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @PatchMapping("{id}")
+    public ResponseEntity<Employee> patchEmployee(@PathVariable("id") Long id, @RequestBody EmployeePatch patch,
+                                                  @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return employeeService.patchEmployee(id, patch, EmployeeETags.expectedVersion(ifMatch))
+                .map(patchedEmployee -> ResponseEntity.ok().eTag(EmployeeETags.of(patchedEmployee)).body(patchedEmployee))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("{id}")
-    public void deleteEmployee(@PathVariable("id") Long id) {
-        employeeService.deleteEmployeeById(id);
+    public ResponseEntity<Void> deleteEmployee(@PathVariable("id") Long id) {
+        return employeeService.deleteEmployeeById(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @DeleteMapping
+    public BulkDeleteResult deleteEmployees(@RequestBody List<Long> ids) {
+        return employeeService.deleteEmployees(ids);
+    }
+
+    private static Long decodeCursor(String after) {
+        if (after == null) {
+            return null;
+        }
+        try {
+            return EmployeeCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
     }
 }
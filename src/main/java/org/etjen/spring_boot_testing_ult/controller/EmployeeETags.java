@@ -0,0 +1,35 @@
+package org.etjen.spring_boot_testing_ult.controller;
+
+import org.etjen.spring_boot_testing_ult.exception.EmployeeVersionMismatchException;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+
+/**
+ * Strong entity tags derived from the employee's version column.
+ */
+final class EmployeeETags {
+    private EmployeeETags() {
+    }
+
+    static String of(Employee employee) {
+        return "\"" + employee.getVersion() + "\"";
+    }
+
+    /**
+     * The version an If-Match header requires, or null when any version will do.
+     * Anything that can't be one of our tags can never match, so it's rejected like a stale one.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        throw new EmployeeVersionMismatchException("If-Match does not match the current version: " + ifMatch);
+    }
+}
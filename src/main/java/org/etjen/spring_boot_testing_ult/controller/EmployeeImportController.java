@@ -0,0 +1,46 @@
+package org.etjen.spring_boot_testing_ult.controller;
+
+import org.etjen.spring_boot_testing_ult.dto.ImportFormat;
+import org.etjen.spring_boot_testing_ult.dto.ImportJobStatus;
+import org.etjen.spring_boot_testing_ult.service.EmployeeImportService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Bulk imports too large for {@code POST /api/employee/batch}. The file is sent as the raw request body,
+ * as CSV with a header row or as one JSON employee per line, and imported in the background.
+ */
+@RestController
+@RequestMapping("/api/employee/imports")
+@Profile("!reactive")
+public class EmployeeImportController {
+    private EmployeeImportService employeeImportService;
+
+    public EmployeeImportController(EmployeeImportService employeeImportService) {
+        this.employeeImportService = employeeImportService;
+    }
+
+    @PostMapping(consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportJobStatus> startImport(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                       InputStream content) throws IOException {
+        ImportJobStatus status = employeeImportService.startImport(ImportFormat.of(contentType), content);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(status.id()).toUri())
+                .body(status);
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity<ImportJobStatus> getImportStatus(@PathVariable("id") UUID id) {
+        return employeeImportService.getImportStatus(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,165 @@
+package org.etjen.spring_boot_testing_ult.controller;
+
+import org.etjen.spring_boot_testing_ult.dto.BulkDeleteResult;
+import org.etjen.spring_boot_testing_ult.dto.EmployeeCursor;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePage;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.etjen.spring_boot_testing_ult.controller.EmployeeController.MAX_PAGE_SIZE;
+import static org.etjen.spring_boot_testing_ult.controller.EmployeeController.MAX_SEARCH_LIMIT;
+import static org.etjen.spring_boot_testing_ult.controller.EmployeeController.MIN_SEARCH_LENGTH;
+
+@RestController
+@RequestMapping("/api/employee")
+@Profile("reactive")
+public class ReactiveEmployeeController {
+    private ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Employee> createEmployee(@RequestBody Employee employee) {
+        return employeeService.saveEmployee(employee);
+    }
+
+    @PostMapping("batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Flux<Employee> createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.saveEmployees(employees);
+    }
+
+    @GetMapping
+    public Flux<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<EmployeePage> getEmployeePage(@RequestParam(name = "after", required = false) String after,
+                                              @RequestParam("limit") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        Long afterId;
+        try {
+            afterId = decodeCursor(after);
+        } catch (ResponseStatusException e) {
+            return Mono.error(e);
+        }
+        return employeeService.getEmployeePage(afterId, limit);
+    }
+
+    @GetMapping("search")
+    public Mono<EmployeePage> searchEmployees(@RequestParam("q") String query,
+                                              @RequestParam(name = "after", required = false) String after,
+                                              @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        // shorter terms have no trigram to look up and would scan the whole table
+        if (query.isBlank() || query.trim().length() < MIN_SEARCH_LENGTH) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must have at least " + MIN_SEARCH_LENGTH + " characters"));
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_SEARCH_LIMIT));
+        }
+        Long afterId;
+        try {
+            afterId = decodeCursor(after);
+        } catch (ResponseStatusException e) {
+            return Mono.error(e);
+        }
+        return employeeService.searchEmployees(query, afterId, limit);
+    }
+
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> exportEmployees() {
+        return employeeService.exportEmployees();
+    }
+
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") Long id, ServerWebExchange exchange) {
+        return employeeService.getEmployeeById(id)
+                .map(employee -> {
+                    String eTag = EmployeeETags.of(employee);
+                    if (exchange.checkNotModified(eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<Employee>build();
+                    }
+                    return ResponseEntity.ok().eTag(eTag).body(employee);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("{id}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable("id") Long id, @RequestBody Employee employee,
+                                                         @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion;
+        try {
+            expectedVersion = EmployeeETags.expectedVersion(ifMatch);
+        } catch (RuntimeException e) {
+            return Mono.error(e);
+        }
+        return employeeService.getEmployeeById(id)
+                .flatMap(savedEmployee -> employeeService.updateEmployee(Employee.builder()
+                        .id(savedEmployee.getId())
+                        .firstName(employee.getFirstName())
+                        .lastName(employee.getLastName())
+                        .email(employee.getEmail())
+                        // the update only applies while the row still has this version
+                        .version(expectedVersion != null ? expectedVersion : savedEmployee.getVersion())
+                        .build()))
+                .map(updatedEmployee -> ResponseEntity.ok().eTag(EmployeeETags.of(updatedEmployee)).body(updatedEmployee))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PatchMapping("{id}")
+    public Mono<ResponseEntity<Employee>> patchEmployee(@PathVariable("id") Long id, @RequestBody EmployeePatch patch,
+                                                        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion;
+        try {
+            expectedVersion = EmployeeETags.expectedVersion(ifMatch);
+        } catch (RuntimeException e) {
+            return Mono.error(e);
+        }
+        return employeeService.patchEmployee(id, patch, expectedVersion)
+                .map(patchedEmployee -> ResponseEntity.ok().eTag(EmployeeETags.of(patchedEmployee)).body(patchedEmployee))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<Void>> deleteEmployee(@PathVariable("id") Long id) {
+        return employeeService.deleteEmployeeById(id)
+                .map(deleted -> deleted
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    @DeleteMapping
+    public Mono<BulkDeleteResult> deleteEmployees(@RequestBody List<Long> ids) {
+        return employeeService.deleteEmployees(ids);
+    }
+
+    private static Long decodeCursor(String after) {
+        if (after == null) {
+            return null;
+        }
+        try {
+            return EmployeeCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
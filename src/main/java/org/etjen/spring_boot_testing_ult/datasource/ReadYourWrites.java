@@ -0,0 +1,34 @@
+package org.etjen.spring_boot_testing_ult.datasource;
+
+/**
+ * Pins the current thread to the primary for a while, so that reads following a write don't go to a replica that
+ * hasn't replayed it yet. The pin expires by itself, which matters for pooled threads nothing clears.
+ */
+public final class ReadYourWrites {
+    private static final ThreadLocal<Long> PRIMARY_UNTIL = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Extends the pin to the given epoch millis; an existing pin reaching further is kept.
+     */
+    public static void pinToPrimaryUntil(long epochMillis) {
+        if (epochMillis > primaryUntil()) {
+            PRIMARY_UNTIL.set(epochMillis);
+        }
+    }
+
+    public static long primaryUntil() {
+        Long primaryUntil = PRIMARY_UNTIL.get();
+        return primaryUntil != null ? primaryUntil : 0L;
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return primaryUntil() > System.currentTimeMillis();
+    }
+
+    public static void clear() {
+        PRIMARY_UNTIL.remove();
+    }
+}
@@ -0,0 +1,57 @@
+package org.etjen.spring_boot_testing_ult.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Carries read-your-writes across requests: a client that wrote recently sends back the {@value #COOKIE_NAME}
+ * cookie set by {@link ReadYourWritesTracker}, and its requests read from the primary until the time it holds.
+ * Any node can honour it, so it works behind a load balancer without session affinity. The cookie comes from the
+ * client, so no more than the stickiness window is taken from it. Requests that write are pinned for their whole
+ * duration.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String COOKIE_NAME = "employee-primary-until";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    Duration stickiness;
+
+    public ReadYourWritesFilter(Duration stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        long primaryUntil = Long.parseLong(cookie.getValue());
+                        ReadYourWrites.pinToPrimaryUntil(Math.min(primaryUntil, System.currentTimeMillis() + stickiness.toMillis()));
+                    } catch (NumberFormatException e) {
+                        // not one of ours, read from the replica
+                    }
+                }
+            }
+        }
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            // a write reads what it's about to change from the primary; with open-in-view the request's first
+            // transaction also fixes the connection the rest of the request uses, so it can't start on the replica
+            ReadYourWrites.pinToPrimaryUntil(Long.MAX_VALUE);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+}
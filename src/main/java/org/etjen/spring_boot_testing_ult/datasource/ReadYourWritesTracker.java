@@ -0,0 +1,47 @@
+package org.etjen.spring_boot_testing_ult.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.etjen.spring_boot_testing_ult.event.EmployeeChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Pins the writing thread to the primary for the stickiness window once a local change committed, and when the
+ * write came in over HTTP, hands the same deadline to the client in the {@value ReadYourWritesFilter#COOKIE_NAME}
+ * cookie. The window has to outlast the replica's usual lag.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.replica.url")
+public class ReadYourWritesTracker {
+    Duration stickiness;
+
+    public ReadYourWritesTracker(@Value("${employee.replica.stickiness:5s}") Duration stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeeChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        long primaryUntil = System.currentTimeMillis() + stickiness.toMillis();
+        ReadYourWrites.pinToPrimaryUntil(primaryUntil);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletResponse response = attributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                Cookie cookie = new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(primaryUntil));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) ((stickiness.toMillis() + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.etjen.spring_boot_testing_ult.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. The physical connection is only
+ * fetched on the first statement, by which point the transaction manager has marked it read-only; a transaction
+ * on the replica stays there to its end. Threads pinned by {@link ReadYourWrites} read from the primary as well.
+ * <p>
+ * Unwrapping, as done for the pool size, reaches the primary.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        super(primary);
+        this.primary = primary;
+        this.replica = replica;
+        setReadOnlyDataSource(new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return ReadYourWrites.isPinnedToPrimary() ? primary.getConnection() : super.getConnection();
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        } finally {
+            if (primary instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package org.etjen.spring_boot_testing_ult.directory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.etjen.spring_boot_testing_ult.event.EmployeeChangedEvent;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the employees table, indexed by id, email and full name, that answers the lookups of
+ * {@link org.etjen.spring_boot_testing_ult.service.custom.EmployeeServiceImpl} without a query. The table is
+ * streamed in once the application is ready, and until then lookups go to the database. Afterwards local changes
+ * are applied from the state their writer committed, while changes relayed from another node are re-read on a
+ * thread of the directory's own, as the thread delivering them may be holding the connection of its transaction.
+ * <p>
+ * Employees handed out are shared by all callers and must not be modified.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.directory.enabled", havingValue = "true")
+public class EmployeeDirectory {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeDirectory.class);
+    // the entity, its boxed id and version, three strings and a node plus table slot in each of the three maps,
+    // assuming compressed oops and Latin-1 strings; the characters themselves are added per employee
+    static final long ENTRY_OVERHEAD_BYTES = 360;
+
+    EmployeeRepository employeeRepository;
+    EntityManager entityManager;
+    TransactionTemplate readTemplate;
+    ExecutorService refresher;
+    Map<Long, Employee> employeesById = new ConcurrentHashMap<>();
+    Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    // full names aren't unique, so each one maps to the ids carrying it, lowest first
+    Map<FullName, long[]> idsByFullName = new ConcurrentHashMap<>();
+    AtomicLong estimatedBytes = new AtomicLong();
+    ReentrantLock refreshLock = new ReentrantLock();
+    volatile boolean ready;
+    // non-null while a refresh is reading, collecting the ids applied locally meanwhile; guarded by this
+    Set<Long> appliedDuringRefresh;
+    // non-null while the table is being streamed in; guarded by this
+    Set<Long> changedDuringLoad;
+    boolean reloadRequested;
+
+    public EmployeeDirectory(EmployeeRepository employeeRepository, EntityManager entityManager,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        // not marked read-only, so it reads the primary when a replica is configured: a lagging replica would
+        // leave a stale copy here until the next change; the query hints still skip the snapshots of the load
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-directory-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("employee.directory.size", employeesById, Map::size)
+                .description("Employees held by the in-memory directory")
+                .register(meterRegistry);
+        Gauge.builder("employee.directory.memory", estimatedBytes, AtomicLong::get)
+                .description("Estimated heap held by the in-memory directory")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Optional<Employee> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(employeesById.get(id));
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        Long id = email == null ? null : idsByEmail.get(email);
+        Employee employee = id == null ? null : employeesById.get(id);
+        // the indexes are updated one after the other, so a concurrent change can briefly point at the wrong record
+        return employee != null && employee.getEmail().equals(email) ? Optional.of(employee) : Optional.empty();
+    }
+
+    public Optional<Employee> findByFullName(String firstName, String lastName) {
+        long[] ids = firstName == null || lastName == null ? null : idsByFullName.get(new FullName(lastName, firstName));
+        if (ids == null) {
+            return Optional.empty();
+        }
+        for (long id : ids) {
+            Employee employee = employeesById.get(id);
+            if (employee != null && employee.getFirstName().equals(firstName) && employee.getLastName().equals(lastName)) {
+                return Optional.of(employee);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Streams the whole table in. Rows changed while streaming may have been read before the change,
+     * so they are re-read afterwards, and employees not in the table that weren't changed meanwhile are dropped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            if (changedDuringLoad != null) {
+                reloadRequested = true;
+                return;
+            }
+            changedDuringLoad = new HashSet<>();
+        }
+        boolean reload;
+        do {
+            long started = System.nanoTime();
+            Set<Long> loadedIds = new HashSet<>();
+            readTemplate.executeWithoutResult(status -> {
+                try (Stream<Employee> employees = employeeRepository.streamAll()) {
+                    employees.forEach(employee -> {
+                        put(employee);
+                        loadedIds.add(employee.getId());
+                        // keeps the persistence context from holding a second copy of the table
+                        entityManager.detach(employee);
+                    });
+                }
+            });
+            Set<Long> changed;
+            synchronized (this) {
+                changed = changedDuringLoad;
+                reload = reloadRequested;
+                changedDuringLoad = reload ? new HashSet<>() : null;
+                reloadRequested = false;
+                for (Long id : List.copyOf(employeesById.keySet())) {
+                    if (!loadedIds.contains(id) && !changed.contains(id)) {
+                        remove(id);
+                    }
+                }
+            }
+            refresh(changed);
+            log.info("Loaded {} employees into the directory in {} ms", loadedIds.size(), (System.nanoTime() - started) / 1_000_000);
+        } while (reload);
+        ready = true;
+    }
+
+    /**
+     * Applies a committed change. The writer's thread delivers local changes and still holds its connection, so
+     * anything to re-read is left to the refresher thread, which doesn't wait for a second pool connection there.
+     */
+    // after the change evictor, or a remote change would be re-read from the stale second-level cache entry
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onEmployeesChanged(EmployeeChangedEvent event) {
+        synchronized (this) {
+            if (changedDuringLoad != null) {
+                // the running load re-reads these once it is done
+                if (event.everything()) {
+                    reloadRequested = true;
+                } else {
+                    changedDuringLoad.addAll(event.ids());
+                }
+                return;
+            }
+            if (event.committed() != null) {
+                apply(event.ids(), event.committed());
+                return;
+            }
+        }
+        if (event.everything()) {
+            refreshLater(this::load);
+        } else if (!event.ids().isEmpty()) {
+            refreshLater(() -> refresh(event.ids()));
+        }
+    }
+
+    /**
+     * Lets queued refreshes finish rather than interrupting them mid-query.
+     */
+    @PreDestroy
+    public void stop() {
+        refresher.shutdown();
+        try {
+            refresher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void refreshLater(Runnable refresh) {
+        try {
+            refresher.execute(() -> {
+                try {
+                    refresh.run();
+                } catch (RuntimeException e) {
+                    log.warn("Could not re-read changed employees, the directory keeps its copies until they change again", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // stopped already, and the directory goes away with the context
+        }
+    }
+
+    // guarded by this; ids without committed state were deleted
+    private void apply(Collection<Long> ids, Collection<Employee> committed) {
+        if (appliedDuringRefresh != null) {
+            appliedDuringRefresh.addAll(ids);
+        }
+        Set<Long> found = new HashSet<>();
+        for (Employee employee : committed) {
+            // the writer still holds its instance, and employees handed out here must not change
+            put(new Employee(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(), employee.getVersion()));
+            found.add(employee.getId());
+        }
+        for (Long id : ids) {
+            if (!found.contains(id)) {
+                remove(id);
+            }
+        }
+    }
+
+    /**
+     * Re-reads the given employees. Refreshes run one at a time, and rows changed locally while one was reading
+     * are left as applied, so a row read before it was deleted can't be put back after the delete.
+     */
+    void refresh(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            synchronized (this) {
+                appliedDuringRefresh = new HashSet<>();
+            }
+            List<Employee> employees = readTemplate.execute(status -> employeeRepository.findAllById(ids));
+            synchronized (this) {
+                Set<Long> found = new HashSet<>(appliedDuringRefresh);
+                for (Employee employee : employees) {
+                    if (found.add(employee.getId())) {
+                        put(employee);
+                    }
+                }
+                for (Long id : ids) {
+                    if (!found.contains(id)) {
+                        remove(id);
+                    }
+                }
+            }
+        } finally {
+            synchronized (this) {
+                appliedDuringRefresh = null;
+            }
+            refreshLock.unlock();
+        }
+    }
+
+    private synchronized void put(Employee employee) {
+        Long id = employee.getId();
+        Employee previous = employeesById.get(id);
+        if (previous != null && isOlder(employee, previous)) {
+            return;
+        }
+        // the new entries go in before the stale ones come out, so unchanged keys never miss
+        employeesById.put(id, employee);
+        idsByEmail.put(employee.getEmail(), id);
+        FullName fullName = FullName.of(employee);
+        idsByFullName.merge(fullName, new long[]{id}, EmployeeDirectory::union);
+        if (previous != null) {
+            if (!previous.getEmail().equals(employee.getEmail())) {
+                idsByEmail.remove(previous.getEmail(), id);
+            }
+            FullName previousFullName = FullName.of(previous);
+            if (!previousFullName.equals(fullName)) {
+                idsByFullName.computeIfPresent(previousFullName, (key, ids) -> without(ids, id));
+            }
+            estimatedBytes.addAndGet(-footprint(previous));
+        }
+        estimatedBytes.addAndGet(footprint(employee));
+    }
+
+    private synchronized void remove(Long id) {
+        Employee previous = employeesById.remove(id);
+        if (previous != null) {
+            idsByEmail.remove(previous.getEmail(), id);
+            idsByFullName.computeIfPresent(FullName.of(previous), (key, ids) -> without(ids, id));
+            estimatedBytes.addAndGet(-footprint(previous));
+        }
+    }
+
+    private static boolean isOlder(Employee employee, Employee than) {
+        return employee.getVersion() != null && than.getVersion() != null && employee.getVersion() < than.getVersion();
+    }
+
+    static long footprint(Employee employee) {
+        return ENTRY_OVERHEAD_BYTES + employee.getFirstName().length() + employee.getLastName().length() + employee.getEmail().length();
+    }
+
+    private static long[] union(long[] ids, long[] added) {
+        if (Arrays.binarySearch(ids, added[0]) >= 0) {
+            return ids;
+        }
+        long[] merged = Arrays.copyOf(ids, ids.length + 1);
+        merged[ids.length] = added[0];
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    private static long[] without(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] remaining = new long[ids.length - 1];
+        System.arraycopy(ids, 0, remaining, 0, index);
+        System.arraycopy(ids, index + 1, remaining, index, ids.length - index - 1);
+        return remaining;
+    }
+
+    record FullName(String lastName, String firstName) {
+        static FullName of(Employee employee) {
+            return new FullName(employee.getLastName(), employee.getFirstName());
+        }
+    }
+}
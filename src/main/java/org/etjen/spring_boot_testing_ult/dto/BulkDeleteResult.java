@@ -0,0 +1,8 @@
+package org.etjen.spring_boot_testing_ult.dto;
+
+/**
+ * @param requested distinct ids asked for
+ * @param deleted   rows actually removed; the difference are ids that didn't exist (anymore)
+ */
+public record BulkDeleteResult(int requested, int deleted) {
+}
@@ -0,0 +1,29 @@
+package org.etjen.spring_boot_testing_ult.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor handed out to clients; it wraps the id of the last employee on a page.
+ */
+public final class EmployeeCursor {
+    private EmployeeCursor() {
+    }
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static Long decode(String cursor) {
+        long id;
+        try {
+            id = Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (id < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return id;
+    }
+}
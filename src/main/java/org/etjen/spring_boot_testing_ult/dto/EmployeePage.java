@@ -0,0 +1,8 @@
+package org.etjen.spring_boot_testing_ult.dto;
+
+import org.etjen.spring_boot_testing_ult.model.Employee;
+
+import java.util.List;
+
+public record EmployeePage(List<Employee> content, String nextCursor) {
+}
@@ -0,0 +1,10 @@
+package org.etjen.spring_boot_testing_ult.dto;
+
+/**
+ * Fields to change on an employee; a null field is left as it is.
+ */
+public record EmployeePatch(String firstName, String lastName, String email) {
+    public boolean isEmpty() {
+        return firstName == null && lastName == null && email == null;
+    }
+}
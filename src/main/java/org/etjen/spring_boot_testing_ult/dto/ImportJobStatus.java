@@ -0,0 +1,31 @@
+package org.etjen.spring_boot_testing_ult.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot of an import job. {@code errors} holds the first rejected rows only, {@code failed} counts all of them.
+ */
+public record ImportJobStatus(UUID id,
+                              ImportFormat format,
+                              State state,
+                              long bytesTotal,
+                              long bytesRead,
+                              long rowsRead,
+                              long imported,
+                              long failed,
+                              double rowsPerSecond,
+                              List<ImportRowError> errors,
+                              String failureReason,
+                              Instant submittedAt,
+                              Instant startedAt,
+                              Instant finishedAt) {
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+}
@@ -0,0 +1,7 @@
+package org.etjen.spring_boot_testing_ult.dto;
+
+/**
+ * @param line 1-based line in the uploaded file, counting a CSV header
+ */
+public record ImportRowError(long line, String message) {
+}
@@ -0,0 +1,66 @@
+package org.etjen.spring_boot_testing_ult.event;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_EMAIL;
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_FULL_NAME;
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_ID;
+
+/**
+ * Evicts what this node cached about employees another node changed. Id entries are evicted by key, while the
+ * email and full name caches are cleared because the old values aren't known here. Local changes don't need this,
+ * the caching service and Hibernate keep their own caches current. Runs before the other listeners, so that
+ * the employee directory re-reads changed rows past the evicted second-level cache entries.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.change-relay.enabled", havingValue = "true")
+public class EmployeeChangeEvictor {
+    ObjectProvider<CacheManager> cacheManager;
+    EntityManagerFactory entityManagerFactory;
+
+    public EmployeeChangeEvictor(ObjectProvider<CacheManager> cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onEmployeesChanged(EmployeeChangedEvent event) {
+        if (!event.remote()) {
+            return;
+        }
+        cacheManager.ifAvailable(manager -> {
+            Cache employeesById = manager.getCache(EMPLOYEES_BY_ID);
+            if (employeesById != null) {
+                if (event.everything()) {
+                    employeesById.clear();
+                } else {
+                    event.ids().forEach(employeesById::evict);
+                }
+            }
+            for (String name : List.of(EMPLOYEES_BY_EMAIL, EMPLOYEES_BY_FULL_NAME)) {
+                Cache cache = manager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        });
+        // a no-op unless the second-level cache is enabled
+        jakarta.persistence.Cache secondLevelCache = entityManagerFactory.getCache();
+        if (event.everything()) {
+            secondLevelCache.evict(Employee.class);
+        } else {
+            event.ids().forEach(id -> secondLevelCache.evict(Employee.class, id));
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package org.etjen.spring_boot_testing_ult.event;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays {@link EmployeeChangedEvent}s between nodes sharing the database through Postgres LISTEN/NOTIFY.
+ * Committed local changes are collected for a short batch window and sent together, so a burst of writes
+ * costs a handful of notifications rather than one per write. Notifications from other nodes are published
+ * again as remote events.
+ * <p>
+ * Listening takes a connection of its own, outside the pool. Notifications sent while it is lost are gone,
+ * so after reconnecting an everything-changed event is published.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.change-relay.enabled", havingValue = "true")
+public class EmployeeChangeRelay implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeRelay.class);
+    public static final String CHANNEL = "employee_changed";
+    static final String EVERYTHING = "*";
+    // Postgres rejects payloads of 8000 bytes or more; ids are ASCII, so characters are bytes
+    static final int MAX_PAYLOAD_LENGTH = 7999;
+
+    JdbcTemplate jdbcTemplate;
+    DataSource listenerDataSource;
+    ApplicationEventPublisher eventPublisher;
+    Duration pollTimeout;
+    Duration reconnectDelay;
+    Duration batchWindow;
+    String nodeId = UUID.randomUUID().toString();
+    ScheduledExecutorService sender;
+    volatile boolean running;
+    Thread listener;
+    // guarded by this
+    Set<Long> pendingIds = new LinkedHashSet<>();
+    boolean pendingEverything;
+    boolean sendScheduled;
+
+    public EmployeeChangeRelay(JdbcTemplate jdbcTemplate,
+                               DataSourceProperties dataSourceProperties,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${employee.change-relay.poll-timeout:500ms}") Duration pollTimeout,
+                               @Value("${employee.change-relay.reconnect-delay:5s}") Duration reconnectDelay,
+                               @Value("${employee.change-relay.batch-window:50ms}") Duration batchWindow) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.listenerDataSource = dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+        this.eventPublisher = eventPublisher;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.batchWindow = batchWindow;
+        this.sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-change-relay-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a committed local change; the first change of a burst schedules the send at the end of the batch window.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void send(EmployeeChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        synchronized (this) {
+            if (event.everything()) {
+                pendingEverything = true;
+            } else {
+                pendingIds.addAll(event.ids());
+            }
+            if (!sendScheduled) {
+                sendScheduled = true;
+                try {
+                    sender.schedule(this::sendPending, batchWindow.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // stopped already, so nothing batches up anymore
+                    sendPending();
+                }
+            }
+        }
+    }
+
+    private void sendPending() {
+        EmployeeChangedEvent batch;
+        synchronized (this) {
+            batch = new EmployeeChangedEvent(List.copyOf(pendingIds), null, pendingEverything, false);
+            pendingIds = new LinkedHashSet<>();
+            pendingEverything = false;
+            sendScheduled = false;
+        }
+        try {
+            for (String payload : payloads(nodeId, batch)) {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) resultSet -> null, CHANNEL, payload);
+            }
+        } catch (DataAccessException e) {
+            // the changes are committed, so the other nodes stay stale until their caches expire or their directory reloads
+            log.warn("Could not notify other nodes of {} changed employees", batch.everything() ? "all" : batch.ids().size(), e);
+        }
+    }
+
+    /**
+     * Encodes the event as {@code <node id>:<comma separated ids>}, split over as many payloads as it takes.
+     */
+    static List<String> payloads(String nodeId, EmployeeChangedEvent event) {
+        String prefix = nodeId + ":";
+        if (event.everything()) {
+            return List.of(prefix + EVERYTHING);
+        }
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(prefix);
+        for (Long id : event.ids()) {
+            String value = id.toString();
+            if (payload.length() > prefix.length() && payload.length() + 1 + value.length() > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.toString());
+                payload.setLength(prefix.length());
+            }
+            if (payload.length() > prefix.length()) {
+                payload.append(',');
+            }
+            payload.append(value);
+        }
+        if (payload.length() > prefix.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    void receive(String payload) {
+        int separator = payload.indexOf(':');
+        // every node hears its own notifications too, and has applied those changes already
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        String ids = payload.substring(separator + 1);
+        if (ids.equals(EVERYTHING)) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.remoteEverything());
+            return;
+        }
+        Collection<Long> changedIds = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            changedIds.add(Long.valueOf(id));
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.remote(changedIds));
+    }
+
+    private void listen(Connection initialConnection) {
+        Connection connection = initialConnection;
+        // missed notifications can only be made up for by treating everything as changed
+        boolean missedNotifications = connection == null;
+        while (running) {
+            try {
+                if (connection == null) {
+                    sleep(reconnectDelay);
+                    if (!running) {
+                        break;
+                    }
+                    connection = connect();
+                    if (missedNotifications) {
+                        eventPublisher.publishEvent(EmployeeChangedEvent.remoteEverything());
+                        missedNotifications = false;
+                    }
+                }
+                PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications((int) pollTimeout.toMillis());
+                for (PGNotification notification : notifications == null ? new PGNotification[0] : notifications) {
+                    try {
+                        receive(notification.getParameter());
+                    } catch (RuntimeException e) {
+                        log.warn("Could not apply employee change notification {}", notification.getParameter(), e);
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Lost the employee change notification connection, reconnecting in {}", reconnectDelay, e);
+                close(connection);
+                connection = null;
+                missedNotifications = true;
+            }
+        }
+        close(connection);
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = listenerDataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        } catch (SQLException e) {
+            close(connection);
+            throw e;
+        }
+        return connection;
+    }
+
+    private static void close(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Could not close the employee change notification connection", e);
+            }
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        // listening before startup completes means nothing committed after the directory loads is missed
+        Connection connection = null;
+        try {
+            connection = connect();
+        } catch (SQLException e) {
+            log.warn("Could not listen for employee changes, retrying in {}", reconnectDelay, e);
+        }
+        Connection initialConnection = connection;
+        listener = new Thread(() -> listen(initialConnection), "employee-change-relay");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        sender.shutdown();
+        try {
+            // sends whatever the last batch window collected; not holding the lock, which sending needs
+            sender.awaitTermination(batchWindow.toMillis() + 5000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Thread stoppedListener;
+        synchronized (this) {
+            stoppedListener = listener;
+            listener = null;
+        }
+        if (stoppedListener != null) {
+            stoppedListener.interrupt();
+            try {
+                stoppedListener.join(pollTimeout.multipliedBy(2).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,36 @@
+package org.etjen.spring_boot_testing_ult.event;
+
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.springframework.lang.Nullable;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published when employees were inserted, updated or deleted, either by this node or, when {@code remote}
+ * is set, by another node sharing the database. {@code everything} means the changed ids aren't known,
+ * for example after the notification connection was lost, and anything derived from the table is stale.
+ * <p>
+ * {@code committed} is the state the writer committed for those of the ids that still exist, so listeners
+ * on this node needn't read it back; it is null when that state isn't known.
+ */
+public record EmployeeChangedEvent(Collection<Long> ids, @Nullable Collection<Employee> committed, boolean everything, boolean remote) {
+    public static EmployeeChangedEvent local(Collection<Long> ids) {
+        return new EmployeeChangedEvent(List.copyOf(ids), null, false, false);
+    }
+
+    public static EmployeeChangedEvent saved(Collection<Employee> employees) {
+        return new EmployeeChangedEvent(employees.stream().map(Employee::getId).toList(), List.copyOf(employees), false, false);
+    }
+
+    public static EmployeeChangedEvent deleted(Collection<Long> ids) {
+        return new EmployeeChangedEvent(List.copyOf(ids), List.of(), false, false);
+    }
+
+    public static EmployeeChangedEvent remote(Collection<Long> ids) {
+        return new EmployeeChangedEvent(List.copyOf(ids), null, false, true);
+    }
+
+    public static EmployeeChangedEvent remoteEverything() {
+        return new EmployeeChangedEvent(List.of(), null, true, true);
+    }
+}
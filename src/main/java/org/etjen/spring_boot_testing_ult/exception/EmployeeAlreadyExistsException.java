@@ -1,5 +1,9 @@
 package org.etjen.spring_boot_testing_ult.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
 public class EmployeeAlreadyExistsException extends RuntimeException {
 
   public EmployeeAlreadyExistsException(String message) {
@@ -0,0 +1,16 @@
+package org.etjen.spring_boot_testing_ult.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class EmployeeImportRejectedException extends RuntimeException {
+
+  public EmployeeImportRejectedException(String message) {
+      super(message);
+  }
+
+  public EmployeeImportRejectedException(String message, Throwable cause) {
+      super(message, cause);
+  }
+}
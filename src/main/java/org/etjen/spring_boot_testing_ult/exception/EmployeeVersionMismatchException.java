@@ -0,0 +1,16 @@
+package org.etjen.spring_boot_testing_ult.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class EmployeeVersionMismatchException extends RuntimeException {
+
+  public EmployeeVersionMismatchException(String message) {
+      super(message);
+  }
+
+  public EmployeeVersionMismatchException(String message, Throwable cause) {
+      super(message, cause);
+  }
+}
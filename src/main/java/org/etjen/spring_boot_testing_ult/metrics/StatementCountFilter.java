@@ -0,0 +1,51 @@
+package org.etjen.spring_boot_testing_ult.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Records how many statements of each type a request executed, as the {@value #METRIC_NAME} summary tagged with
+ * the request's method and URI pattern. Only statements on the request thread are seen, so the body of the
+ * asynchronous export endpoint isn't counted.
+ */
+public class StatementCountFilter extends OncePerRequestFilter {
+    public static final String METRIC_NAME = "employee.http.statements";
+
+    private StatementCounter statementCounter;
+    private MeterRegistry meterRegistry;
+
+    public StatementCountFilter(StatementCounter statementCounter, MeterRegistry meterRegistry) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        statementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementCounter.StatementCounts counts = statementCounter.current();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            for (StatementCounter.StatementType type : StatementCounter.StatementType.values()) {
+                DistributionSummary.builder(METRIC_NAME)
+                        .description("JDBC statements executed per request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri)
+                        .tag("type", type.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry)
+                        .record(counts.get(type));
+            }
+        }
+    }
+}
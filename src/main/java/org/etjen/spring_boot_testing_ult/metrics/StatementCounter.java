@@ -0,0 +1,76 @@
+package org.etjen.spring_boot_testing_ult.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Counts the JDBC statements executed on the current thread, by type. A JDBC batch counts as one statement,
+ * since that's one round trip. Sequence fetches are counted apart from other selects, because how often the pooled
+ * id generator needs one depends on how many ids earlier inserts used up.
+ */
+public class StatementCounter implements QueryExecutionListener {
+    public enum StatementType {
+        SELECT, INSERT, UPDATE, DELETE, SEQUENCE, OTHER
+    }
+
+    public record StatementCounts(long selects, long inserts, long updates, long deletes, long sequenceCalls, long others) {
+        public long total() {
+            return selects + inserts + updates + deletes + sequenceCalls + others;
+        }
+
+        public long get(StatementType type) {
+            return switch (type) {
+                case SELECT -> selects;
+                case INSERT -> inserts;
+                case UPDATE -> updates;
+                case DELETE -> deletes;
+                case SEQUENCE -> sequenceCalls;
+                case OTHER -> others;
+            };
+        }
+    }
+
+    private final ThreadLocal<long[]> counts = ThreadLocal.withInitial(() -> new long[StatementType.values().length]);
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long[] current = counts.get();
+        for (QueryInfo queryInfo : queryInfoList) {
+            current[classify(queryInfo.getQuery()).ordinal()]++;
+        }
+    }
+
+    public void reset() {
+        counts.remove();
+    }
+
+    public StatementCounts current() {
+        long[] current = counts.get();
+        return new StatementCounts(current[0], current[1], current[2], current[3], current[4], current[5]);
+    }
+
+    static StatementType classify(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (statement.startsWith("select")) {
+            return statement.contains("nextval(") ? StatementType.SEQUENCE : StatementType.SELECT;
+        }
+        if (statement.startsWith("insert")) {
+            return StatementType.INSERT;
+        }
+        if (statement.startsWith("update")) {
+            return StatementType.UPDATE;
+        }
+        if (statement.startsWith("delete")) {
+            return StatementType.DELETE;
+        }
+        return StatementType.OTHER;
+    }
+}
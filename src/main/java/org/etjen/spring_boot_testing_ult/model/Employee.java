@@ -2,16 +2,31 @@ package org.etjen.spring_boot_testing_ult.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "employees")
+// updates only set the columns that actually changed
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
+// the unique constraint's index also serves findByEmail
+@Table(name = "employees",
+        uniqueConstraints = @UniqueConstraint(name = "uk_employees_email", columnNames = "email"),
+        indexes = @Index(name = "idx_employees_last_name_first_name", columnList = "lastName, firstName"))
+// mapping for the R2DBC repository of the reactive profile, which doesn't read the JPA annotations
+@org.springframework.data.relational.core.mapping.Table("employees")
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @org.springframework.data.annotation.Id
+    // IDENTITY would make Hibernate disable JDBC insert batching; the pooled sequence hands out ids 50 at a time
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     private String firstName;
@@ -19,4 +34,8 @@ public class Employee {
     private String lastName;
     @Column(nullable = false)
     private String email;
+    // JPA's @Version only, as Spring Data JPA rejects an entity that also has Spring Data's, so the R2DBC
+    // repository checks the version by hand in its updateIfVersion SQL
+    @Version
+    private Long version;
 }
@@ -1,17 +1,84 @@
 package org.etjen.spring_boot_testing_ult.repository;
 
+import jakarta.persistence.QueryHint;
 import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+// the finders below load read-only entities: no snapshot is kept for dirty checking, and changes made to them are never flushed.
+// findById is left managed: with open-in-view, PUT merges onto the entity it read, and a read-only one would never be flushed.
+// They also run in read-only transactions, which go to the replica when one is configured, while findExistingEmails
+// stays on the primary because duplicate checks can't tolerate lag
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Employee> findAll();
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Optional<Employee> findByEmail(String email);
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @NativeQuery("""
             SELECT *
             FROM employees
             WHERE first_name = :firstName and last_name = :lastName
             """)
     Optional<Employee> findByFullName(@Param("firstName") String firstName, @Param("lastName") String lastName);
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @NativeQuery("""
+            SELECT *
+            FROM employees
+            WHERE id > :after
+            ORDER BY id
+            LIMIT :limit
+            """)
+    List<Employee> findPageAfter(@Param("after") Long after, @Param("limit") int limit);
+    // the expression has to match idx_employees_search_trgm exactly for the index to be used
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @NativeQuery("""
+            SELECT *
+            FROM employees
+            WHERE lower(first_name || ' ' || last_name || ' ' || email) LIKE :pattern
+              AND id > :after
+            ORDER BY id
+            LIMIT :limit
+            """)
+    List<Employee> searchPageAfter(@Param("pattern") String pattern, @Param("after") Long after, @Param("limit") int limit);
+    // binds the emails as a single array parameter, so the statement is the same whatever the batch size
+    @NativeQuery("""
+            SELECT email
+            FROM employees
+            WHERE email = ANY(:emails)
+            """)
+    List<String> findExistingEmails(@Param("emails") String[] emails);
+    // must be consumed inside a transaction, otherwise the Postgres driver ignores the fetch size and buffers every row
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Employee e ORDER BY e.id")
+    Stream<Employee> streamAll();
+    // unlike deleteById this doesn't load the entity first, and the count tells whether it existed
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Employee e WHERE e.id = :id")
+    int removeById(@Param("id") Long id);
+    @Transactional
+    @Modifying
+    @NativeQuery("""
+            DELETE FROM employees
+            WHERE id = ANY(:ids)
+            """)
+    int removeAllById(@Param("ids") Long[] ids);
 }
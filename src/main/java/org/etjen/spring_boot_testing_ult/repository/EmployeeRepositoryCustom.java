@@ -0,0 +1,15 @@
+package org.etjen.spring_boot_testing_ult.repository;
+
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+
+import java.util.Optional;
+
+public interface EmployeeRepositoryCustom {
+    /**
+     * Writes only the non-null fields of the patch, in a single statement that also returns the updated row.
+     * Empty when there is no employee with that id. When {@code expectedVersion} is given the row is only
+     * changed if it still has that version, otherwise an {@link org.springframework.orm.ObjectOptimisticLockingFailureException} is thrown.
+     */
+    Optional<Employee> patch(Long id, EmployeePatch patch, Long expectedVersion);
+}
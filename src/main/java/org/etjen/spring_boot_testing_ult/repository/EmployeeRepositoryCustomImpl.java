@@ -0,0 +1,68 @@
+package org.etjen.spring_boot_testing_ult.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+    private EntityManager entityManager;
+
+    public EmployeeRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public Optional<Employee> patch(Long id, EmployeePatch patch, Long expectedVersion) {
+        // column names are fixed here, only the values are bound, so the statement can't be injected into
+        Map<String, String> columns = new LinkedHashMap<>();
+        if (patch.firstName() != null) {
+            columns.put("first_name", patch.firstName());
+        }
+        if (patch.lastName() != null) {
+            columns.put("last_name", patch.lastName());
+        }
+        if (patch.email() != null) {
+            columns.put("email", patch.email());
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Patch for employee " + id + " has no fields to update");
+        }
+        String assignments = columns.keySet().stream()
+                .map(column -> column + " = :" + column)
+                .collect(Collectors.joining(", "));
+        Query query = entityManager.createNativeQuery("UPDATE employees SET " + assignments + ", version = version + 1"
+                + " WHERE id = :id" + (expectedVersion != null ? " AND version = :version" : "")
+                + " RETURNING id, first_name, last_name, email, version", Tuple.class);
+        columns.forEach(query::setParameter);
+        query.setParameter("id", id);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = query.getResultList();
+        // Hibernate doesn't know which entity a native statement touched, so the cached copy has to go by hand
+        entityManager.getEntityManagerFactory().getCache().evict(Employee.class, id);
+        if (rows.isEmpty() && expectedVersion != null && entityManager.find(Employee.class, id) != null) {
+            // only the failure path pays for telling a stale version apart from a missing row
+            throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+        }
+        return rows.stream().findFirst().map(row -> Employee.builder()
+                .id(row.get("id", Number.class).longValue())
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .version(row.get("version", Number.class).longValue())
+                .build());
+    }
+}
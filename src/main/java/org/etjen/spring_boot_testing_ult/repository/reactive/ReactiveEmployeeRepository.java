@@ -0,0 +1,91 @@
+package org.etjen.spring_boot_testing_ult.repository.reactive;
+
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeRepository extends R2dbcRepository<Employee, Long> {
+    Mono<Employee> findByEmail(String email);
+    @Query("""
+            SELECT *
+            FROM employees
+            WHERE first_name = :firstName and last_name = :lastName
+            """)
+    Mono<Employee> findByFullName(@Param("firstName") String firstName, @Param("lastName") String lastName);
+    @Query("""
+            SELECT *
+            FROM employees
+            WHERE id > :after
+            ORDER BY id
+            LIMIT :limit
+            """)
+    Flux<Employee> findPageAfter(@Param("after") Long after, @Param("limit") int limit);
+    // same expression as the JPA repository's search, so idx_employees_search_trgm serves both
+    @Query("""
+            SELECT *
+            FROM employees
+            WHERE lower(first_name || ' ' || last_name || ' ' || email) LIKE :pattern
+              AND id > :after
+            ORDER BY id
+            LIMIT :limit
+            """)
+    Flux<Employee> searchPageAfter(@Param("pattern") String pattern, @Param("after") Long after, @Param("limit") int limit);
+    @Query("""
+            SELECT email
+            FROM employees
+            WHERE email = ANY(:emails)
+            """)
+    Flux<String> findExistingEmails(@Param("emails") String[] emails);
+    @Query("""
+            SELECT *
+            FROM employees
+            ORDER BY id
+            """)
+    Flux<Employee> streamAll();
+    // the version check is done here because Spring Data JPA refuses an entity that also carries Spring's @Version;
+    // empty when the row is gone or was changed since the given version was read
+    @Query("""
+            UPDATE employees
+            SET first_name = :firstName, last_name = :lastName, email = :email, version = version + 1
+            WHERE id = :id AND version = :version
+            RETURNING *
+            """)
+    Mono<Employee> updateIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("firstName") String firstName,
+                                   @Param("lastName") String lastName, @Param("email") String email);
+    // null fields keep their value; empty when the row is gone
+    @Query("""
+            UPDATE employees
+            SET first_name = COALESCE(:firstName, first_name), last_name = COALESCE(:lastName, last_name),
+                email = COALESCE(:email, email), version = version + 1
+            WHERE id = :id
+            RETURNING *
+            """)
+    Mono<Employee> patch(@Param("id") Long id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+                         @Param("email") String email);
+    // as patch, and also empty when the row was changed since the given version was read
+    @Query("""
+            UPDATE employees
+            SET first_name = COALESCE(:firstName, first_name), last_name = COALESCE(:lastName, last_name),
+                email = COALESCE(:email, email), version = version + 1
+            WHERE id = :id AND version = :version
+            RETURNING *
+            """)
+    Mono<Employee> patchIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("firstName") String firstName,
+                                  @Param("lastName") String lastName, @Param("email") String email);
+    @Modifying
+    @Query("""
+            DELETE FROM employees
+            WHERE id = :id
+            """)
+    Mono<Long> removeById(@Param("id") Long id);
+    @Modifying
+    @Query("""
+            DELETE FROM employees
+            WHERE id = ANY(:ids)
+            """)
+    Mono<Long> removeAllById(@Param("ids") Long[] ids);
+}
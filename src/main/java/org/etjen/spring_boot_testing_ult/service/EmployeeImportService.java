@@ -0,0 +1,17 @@
+package org.etjen.spring_boot_testing_ult.service;
+
+import org.etjen.spring_boot_testing_ult.dto.ImportFormat;
+import org.etjen.spring_boot_testing_ult.dto.ImportJobStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface EmployeeImportService {
+    /**
+     * Stores the content and queues it for import, returning as soon as the job is queued.
+     */
+    ImportJobStatus startImport(ImportFormat format, InputStream content) throws IOException;
+    Optional<ImportJobStatus> getImportStatus(UUID id);
+}
@@ -1,14 +1,26 @@
 package org.etjen.spring_boot_testing_ult.service;
 
+import org.etjen.spring_boot_testing_ult.dto.BulkDeleteResult;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePage;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
 import org.etjen.spring_boot_testing_ult.model.Employee;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
+    List<Employee> saveEmployees(List<Employee> employees);
     List<Employee> getAllEmployees();
+    EmployeePage getEmployeePage(Long afterId, int limit);
+    EmployeePage searchEmployees(String query, Long afterId, int limit);
+    void exportEmployees(Consumer<Employee> consumer);
     Optional<Employee> getEmployeeById(Long id);
+    Optional<Employee> getEmployeeByEmail(String email);
+    Optional<Employee> getEmployeeByFullName(String firstName, String lastName);
     Employee updateEmployee(Employee employee);
-    void deleteEmployeeById(Long id);
+    Optional<Employee> patchEmployee(Long id, EmployeePatch patch, Long expectedVersion);
+    boolean deleteEmployeeById(Long id);
+    BulkDeleteResult deleteEmployees(List<Long> ids);
 }
@@ -0,0 +1,26 @@
+package org.etjen.spring_boot_testing_ult.service;
+
+import org.etjen.spring_boot_testing_ult.dto.BulkDeleteResult;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePage;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveEmployeeService {
+    Mono<Employee> saveEmployee(Employee employee);
+    Flux<Employee> saveEmployees(List<Employee> employees);
+    Flux<Employee> getAllEmployees();
+    Mono<EmployeePage> getEmployeePage(Long afterId, int limit);
+    Mono<EmployeePage> searchEmployees(String query, Long afterId, int limit);
+    Flux<Employee> exportEmployees();
+    Mono<Employee> getEmployeeById(Long id);
+    Mono<Employee> getEmployeeByEmail(String email);
+    Mono<Employee> getEmployeeByFullName(String firstName, String lastName);
+    Mono<Employee> updateEmployee(Employee employee);
+    Mono<Employee> patchEmployee(Long id, EmployeePatch patch, Long expectedVersion);
+    Mono<Boolean> deleteEmployeeById(Long id);
+    Mono<BulkDeleteResult> deleteEmployees(List<Long> ids);
+}
@@ -0,0 +1,139 @@
+package org.etjen.spring_boot_testing_ult.service.custom;
+
+import org.etjen.spring_boot_testing_ult.dto.BulkDeleteResult;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePage;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.service.EmployeeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Caches the id, email and full name lookups of {@link EmployeeServiceImpl}, including misses.
+ * Email and full name entries can't be evicted by key on update or delete because the old values
+ * aren't known here, so those caches are cleared as a whole.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "employee.cache.enabled", havingValue = "true")
+public class CachingEmployeeService implements EmployeeService {
+    public static final String EMPLOYEES_BY_ID = "employeesById";
+    public static final String EMPLOYEES_BY_EMAIL = "employeesByEmail";
+    public static final String EMPLOYEES_BY_FULL_NAME = "employeesByFullName";
+
+    EmployeeService employeeService;
+
+    public CachingEmployeeService(EmployeeServiceImpl employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @Override
+    @Caching(
+            put = @CachePut(cacheNames = EMPLOYEES_BY_ID, key = "#result.id"),
+            evict = {
+                    @CacheEvict(cacheNames = EMPLOYEES_BY_EMAIL, key = "#employee.email"),
+                    @CacheEvict(cacheNames = EMPLOYEES_BY_FULL_NAME, key = "T(java.util.List).of(#employee.firstName, #employee.lastName)")
+            })
+    public Employee saveEmployee(Employee employee) {
+        return employeeService.saveEmployee(employee);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = EMPLOYEES_BY_ID, allEntries = true),
+            @CacheEvict(cacheNames = EMPLOYEES_BY_EMAIL, allEntries = true),
+            @CacheEvict(cacheNames = EMPLOYEES_BY_FULL_NAME, allEntries = true)
+    })
+    public List<Employee> saveEmployees(List<Employee> employees) {
+        return employeeService.saveEmployees(employees);
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Override
+    public EmployeePage getEmployeePage(Long afterId, int limit) {
+        return employeeService.getEmployeePage(afterId, limit);
+    }
+
+    @Override
+    public EmployeePage searchEmployees(String query, Long afterId, int limit) {
+        return employeeService.searchEmployees(query, afterId, limit);
+    }
+
+    @Override
+    public void exportEmployees(Consumer<Employee> consumer) {
+        employeeService.exportEmployees(consumer);
+    }
+
+    @Override
+    @Cacheable(cacheNames = EMPLOYEES_BY_ID)
+    public Optional<Employee> getEmployeeById(Long id) {
+        return employeeService.getEmployeeById(id);
+    }
+
+    @Override
+    @Cacheable(cacheNames = EMPLOYEES_BY_EMAIL)
+    public Optional<Employee> getEmployeeByEmail(String email) {
+        return employeeService.getEmployeeByEmail(email);
+    }
+
+    @Override
+    @Cacheable(cacheNames = EMPLOYEES_BY_FULL_NAME, key = "T(java.util.List).of(#firstName, #lastName)")
+    public Optional<Employee> getEmployeeByFullName(String firstName, String lastName) {
+        return employeeService.getEmployeeByFullName(firstName, lastName);
+    }
+
+    @Override
+    @Caching(
+            put = @CachePut(cacheNames = EMPLOYEES_BY_ID, key = "#result.id"),
+            evict = {
+                    // dropped up front so a failed update can't leave a stale entry behind
+                    @CacheEvict(cacheNames = EMPLOYEES_BY_ID, key = "#employee.id", beforeInvocation = true),
+                    @CacheEvict(cacheNames = EMPLOYEES_BY_EMAIL, allEntries = true),
+                    @CacheEvict(cacheNames = EMPLOYEES_BY_FULL_NAME, allEntries = true)
+            })
+    public Employee updateEmployee(Employee employee) {
+        return employeeService.updateEmployee(employee);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = EMPLOYEES_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = EMPLOYEES_BY_EMAIL, allEntries = true),
+            @CacheEvict(cacheNames = EMPLOYEES_BY_FULL_NAME, allEntries = true)
+    })
+    public Optional<Employee> patchEmployee(Long id, EmployeePatch patch, Long expectedVersion) {
+        return employeeService.patchEmployee(id, patch, expectedVersion);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = EMPLOYEES_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = EMPLOYEES_BY_EMAIL, allEntries = true),
+            @CacheEvict(cacheNames = EMPLOYEES_BY_FULL_NAME, allEntries = true)
+    })
+    public boolean deleteEmployeeById(Long id) {
+        return employeeService.deleteEmployeeById(id);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = EMPLOYEES_BY_ID, allEntries = true),
+            @CacheEvict(cacheNames = EMPLOYEES_BY_EMAIL, allEntries = true),
+            @CacheEvict(cacheNames = EMPLOYEES_BY_FULL_NAME, allEntries = true)
+    })
+    public BulkDeleteResult deleteEmployees(List<Long> ids) {
+        return employeeService.deleteEmployees(ids);
+    }
+}
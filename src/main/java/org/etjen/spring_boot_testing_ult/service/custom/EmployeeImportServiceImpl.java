@@ -0,0 +1,472 @@
+package org.etjen.spring_boot_testing_ult.service.custom;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.etjen.spring_boot_testing_ult.dto.ImportFormat;
+import org.etjen.spring_boot_testing_ult.dto.ImportJobStatus;
+import org.etjen.spring_boot_testing_ult.dto.ImportRowError;
+import org.etjen.spring_boot_testing_ult.event.EmployeeChangedEvent;
+import org.etjen.spring_boot_testing_ult.exception.EmployeeImportRejectedException;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.EmployeeImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_EMAIL;
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_FULL_NAME;
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_ID;
+
+/**
+ * Runs employee imports in the background. The upload is spooled to a temporary file, then read line by line
+ * and written in chunks, one transaction per chunk, so neither memory nor transaction size grow with the file.
+ * Rows that can't be imported are counted and reported instead of failing the job.
+ */
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeImportServiceImpl.class);
+    private static final List<String> CSV_COLUMNS = List.of("firstname", "lastname", "email");
+
+    EmployeeRepository employeeRepository;
+    TransactionTemplate transactionTemplate;
+    ObjectReader employeeReader;
+    ObjectProvider<CacheManager> cacheManager;
+    ApplicationEventPublisher eventPublisher;
+    MeterRegistry meterRegistry;
+    ThreadPoolExecutor executor;
+    int chunkSize;
+    int maxReportedErrors;
+    Duration retention;
+    Clock clock = Clock.systemUTC();
+    Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public EmployeeImportServiceImpl(EmployeeRepository employeeRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectMapper objectMapper,
+                                     DataSource dataSource,
+                                     ObjectProvider<CacheManager> cacheManager,
+                                     ApplicationEventPublisher eventPublisher,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${employee.import.max-parallelism:4}") int maxParallelism,
+                                     @Value("${employee.import.queue-capacity:16}") int queueCapacity,
+                                     @Value("${employee.import.chunk-size:1000}") int chunkSize,
+                                     @Value("${employee.import.max-reported-errors:1000}") int maxReportedErrors,
+                                     @Value("${employee.import.retention:1h}") Duration retention) {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.retention = retention;
+        int parallelism = parallelism(dataSource, maxParallelism);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "employee-import-" + threadNumber.incrementAndGet()));
+    }
+
+    /**
+     * Each running import holds one connection per chunk, so imports are kept to half the pool
+     * and requests still get connections while a large file is loading.
+     */
+    static int parallelism(DataSource dataSource, int maxParallelism) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                return Math.max(1, Math.min(maxParallelism, poolSize / 2));
+            }
+        } catch (SQLException e) {
+            log.debug("Could not determine the connection pool size", e);
+        }
+        return Math.max(1, maxParallelism);
+    }
+
+    @Override
+    public ImportJobStatus startImport(ImportFormat format, InputStream content) throws IOException {
+        purgeFinishedJobs();
+        Path file = Files.createTempFile("employee-import-", "." + format.name().toLowerCase(Locale.ROOT));
+        try {
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        ImportJob job = new ImportJob(UUID.randomUUID(), format, Files.size(file), clock.instant());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, file));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(file);
+            throw new EmployeeImportRejectedException("Too many imports are queued, try again later", e);
+        }
+        return job.status(clock.instant());
+    }
+
+    @Override
+    public Optional<ImportJobStatus> getImportStatus(UUID id) {
+        return Optional.ofNullable(jobs.get(id)).map(job -> job.status(clock.instant()));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    void run(ImportJob job, Path file) {
+        job.startedAt = clock.instant();
+        job.state = ImportJobStatus.State.RUNNING;
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(file), job.bytesRead);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            RowParser parser = job.format == ImportFormat.CSV ? csvParser(reader.readLine()) : this::parseJson;
+            long line = job.format == ImportFormat.CSV ? 1 : 0;
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            for (String text = reader.readLine(); text != null && !Thread.currentThread().isInterrupted(); text = reader.readLine()) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                job.rowsRead.incrementAndGet();
+                try {
+                    chunk.add(new ImportRow(line, validate(parser.parse(text))));
+                } catch (IllegalArgumentException e) {
+                    job.reject(line, e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    persist(job, chunk);
+                    chunk.clear();
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Import was interrupted by shutdown");
+            }
+            persist(job, chunk);
+            job.finish(ImportJobStatus.State.COMPLETED, null, clock.instant());
+        } catch (Exception e) {
+            log.warn("Import {} failed after {} rows", job.id, job.rowsRead.get(), e);
+            job.finish(ImportJobStatus.State.FAILED, e.getMessage(), clock.instant());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    private void persist(ImportJob job, List<ImportRow> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> emails = new HashSet<>();
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (emails.add(row.employee.getEmail())) {
+                candidates.add(row);
+            } else {
+                rejectDuplicate(job, row);
+            }
+        }
+        List<Long> importedIds = new ArrayList<>(candidates.size());
+        try {
+            List<ImportRow> rejected = transactionTemplate.execute(status -> {
+                // earlier chunks are committed by now, so this also catches duplicates across chunks
+                Set<String> existingEmails = new HashSet<>(employeeRepository.findExistingEmails(emails.toArray(String[]::new)));
+                List<ImportRow> duplicates = candidates.stream().filter(row -> existingEmails.contains(row.employee.getEmail())).toList();
+                List<Employee> saved = employeeRepository.saveAll(candidates.stream()
+                        .filter(row -> !existingEmails.contains(row.employee.getEmail()))
+                        .map(ImportRow::employee)
+                        .toList());
+                employeeRepository.flush();
+                eventPublisher.publishEvent(EmployeeChangedEvent.saved(saved));
+                saved.forEach(employee -> importedIds.add(employee.getId()));
+                return duplicates;
+            });
+            rejected.forEach(row -> rejectDuplicate(job, row));
+            job.imported.addAndGet(candidates.size() - rejected.size());
+        } catch (DataIntegrityViolationException e) {
+            if (!EmployeeServiceImpl.isDuplicateEmail(e)) {
+                throw e;
+            }
+            // a concurrent writer took one of the emails after the lookup; find out which row, one transaction each
+            importedIds.clear();
+            for (ImportRow row : candidates) {
+                Long id = persistSingle(job, row);
+                if (id != null) {
+                    importedIds.add(id);
+                }
+            }
+        }
+        evictCachedLookups(importedIds);
+    }
+
+    // the id of the imported employee, or null when its email was taken
+    private Long persistSingle(ImportJob job, ImportRow row) {
+        // the failed batch already assigned an id and version, which would turn the insert into a merge
+        row.employee.setId(null);
+        row.employee.setVersion(null);
+        try {
+            Long id = transactionTemplate.execute(status -> {
+                Employee saved = employeeRepository.saveAndFlush(row.employee);
+                eventPublisher.publishEvent(EmployeeChangedEvent.saved(List.of(saved)));
+                return saved.getId();
+            });
+            job.imported.incrementAndGet();
+            return id;
+        } catch (DataIntegrityViolationException e) {
+            if (!EmployeeServiceImpl.isDuplicateEmail(e)) {
+                throw e;
+            }
+            rejectDuplicate(job, row);
+            return null;
+        }
+    }
+
+    private void rejectDuplicate(ImportJob job, ImportRow row) {
+        job.reject(row.line, "Employee with same email already exists: " + row.employee.getEmail());
+        meterRegistry.counter(EmployeeServiceImpl.DUPLICATE_EMAIL_REJECTIONS, "operation", "import").increment();
+    }
+
+    /**
+     * Imported rows bypass the caching service, which may hold misses for their emails and names, and for their
+     * ids too, as a lookup of an id the sequence hadn't handed out yet is cached as a miss as well.
+     */
+    private void evictCachedLookups(Collection<Long> importedIds) {
+        cacheManager.ifAvailable(manager -> {
+            Cache employeesById = manager.getCache(EMPLOYEES_BY_ID);
+            if (employeesById != null) {
+                importedIds.forEach(employeesById::evict);
+            }
+            for (String name : List.of(EMPLOYEES_BY_EMAIL, EMPLOYEES_BY_FULL_NAME)) {
+                Cache cache = manager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        });
+    }
+
+    private Employee parseJson(String text) {
+        try {
+            Employee employee = employeeReader.readValue(text);
+            employee.setId(null);
+            employee.setVersion(null);
+            return employee;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static RowParser csvParser(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        List<String> columns = parseCsvLine(header).stream()
+                .map(column -> column.replace("_", "").trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int[] positions = CSV_COLUMNS.stream().mapToInt(columns::indexOf).toArray();
+        for (int position : positions) {
+            if (position < 0) {
+                throw new IllegalArgumentException("CSV header must name the columns firstName, lastName and email: " + header);
+            }
+        }
+        return text -> {
+            List<String> values = parseCsvLine(text);
+            if (values.size() != columns.size()) {
+                throw new IllegalArgumentException("Expected " + columns.size() + " columns but found " + values.size());
+            }
+            return Employee.builder()
+                    .firstName(values.get(positions[0]))
+                    .lastName(values.get(positions[1]))
+                    .email(values.get(positions[2]))
+                    .build();
+        };
+    }
+
+    /**
+     * Splits one RFC 4180 record; quoted fields may contain commas and doubled quotes but not line breaks.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c != '\r') {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static Employee validate(Employee employee) {
+        if (isBlank(employee.getFirstName()) || isBlank(employee.getLastName()) || isBlank(employee.getEmail())) {
+            throw new IllegalArgumentException("firstName, lastName and email are required");
+        }
+        employee.setEmail(employee.getEmail().trim());
+        return employee;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private void purgeFinishedJobs() {
+        Instant cutoff = clock.instant().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @FunctionalInterface
+    interface RowParser {
+        Employee parse(String text);
+    }
+
+    record ImportRow(long line, Employee employee) {
+    }
+
+    /**
+     * Progress of one job. Only the worker thread writes it; status requests read it concurrently.
+     */
+    class ImportJob {
+        final UUID id;
+        final ImportFormat format;
+        final long bytesTotal;
+        final Instant submittedAt;
+        final AtomicLong bytesRead = new AtomicLong();
+        final AtomicLong rowsRead = new AtomicLong();
+        final AtomicLong imported = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final List<ImportRowError> errors = new ArrayList<>();
+        volatile ImportJobStatus.State state = ImportJobStatus.State.QUEUED;
+        volatile String failureReason;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+
+        ImportJob(UUID id, ImportFormat format, long bytesTotal, Instant submittedAt) {
+            this.id = id;
+            this.format = format;
+            this.bytesTotal = bytesTotal;
+            this.submittedAt = submittedAt;
+        }
+
+        void reject(long line, String message) {
+            failed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new ImportRowError(line, message));
+                }
+            }
+        }
+
+        void finish(ImportJobStatus.State finalState, String reason, Instant now) {
+            failureReason = reason;
+            finishedAt = now;
+            state = finalState;
+        }
+
+        ImportJobStatus status(Instant now) {
+            Instant end = finishedAt != null ? finishedAt : now;
+            double seconds = startedAt == null ? 0 : Duration.between(startedAt, end).toNanos() / 1e9;
+            long rows = rowsRead.get();
+            List<ImportRowError> reportedErrors;
+            synchronized (errors) {
+                reportedErrors = List.copyOf(errors);
+            }
+            return new ImportJobStatus(id, format, state, bytesTotal, Math.min(bytesRead.get(), bytesTotal), rows,
+                    imported.get(), failed.get(), seconds > 0 ? rows / seconds : 0, reportedErrors, failureReason,
+                    submittedAt, startedAt, finishedAt);
+        }
+    }
+
+    static class CountingInputStream extends FilterInputStream {
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count.addAndGet(n);
+            }
+            return n;
+        }
+    }
+}
@@ -1,47 +1,285 @@
 package org.etjen.spring_boot_testing_ult.service.custom;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.etjen.spring_boot_testing_ult.directory.EmployeeDirectory;
+import org.etjen.spring_boot_testing_ult.dto.BulkDeleteResult;
+import org.etjen.spring_boot_testing_ult.dto.EmployeeCursor;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePage;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.event.EmployeeChangedEvent;
 import org.etjen.spring_boot_testing_ult.exception.EmployeeAlreadyExistsException;
+import org.etjen.spring_boot_testing_ult.exception.EmployeeVersionMismatchException;
 import org.etjen.spring_boot_testing_ult.model.Employee;
 import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
 import org.etjen.spring_boot_testing_ult.service.EmployeeService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+// one employee.service timer per method, tagged with the method name and any exception thrown
+@Timed(value = "employee.service", description = "Time spent in EmployeeService methods")
 public class EmployeeServiceImpl implements EmployeeService {
+    static final int FLUSH_INTERVAL = 1000;
+    static final String EMAIL_UNIQUE_CONSTRAINT = "uk_employees_email";
+    public static final String DUPLICATE_EMAIL_REJECTIONS = "employee.duplicate.email.rejections";
+
     EmployeeRepository employeeRepository;
+    EntityManager entityManager;
+    MeterRegistry meterRegistry;
+    ApplicationEventPublisher eventPublisher;
+    // answers the single-employee lookups once loaded; absent unless employee.directory.enabled is set
+    EmployeeDirectory employeeDirectory;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EntityManager entityManager, MeterRegistry meterRegistry,
+                               ApplicationEventPublisher eventPublisher, @Nullable EmployeeDirectory employeeDirectory) {
         this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.employeeDirectory = employeeDirectory;
     }
 
     @Override
     public Employee saveEmployee(Employee employee) {
-        Optional<Employee> foundEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if (foundEmployee.isPresent()) {
-            throw new EmployeeAlreadyExistsException("Employee with same email already exists: " + employee.getEmail());
+        // the unique constraint on email does the duplicate check as part of the insert itself
+        Employee savedEmployee;
+        try {
+            savedEmployee = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e, employee.getEmail(), "save");
+        }
+        publishChanged(EmployeeChangedEvent.saved(List.of(savedEmployee)));
+        return savedEmployee;
+    }
+
+    @Override
+    @Transactional
+    public List<Employee> saveEmployees(List<Employee> employees) {
+        Set<String> emails = new HashSet<>();
+        Set<String> duplicateEmails = new LinkedHashSet<>();
+        for (Employee employee : employees) {
+            if (!emails.add(employee.getEmail())) {
+                duplicateEmails.add(employee.getEmail());
+            }
+        }
+        if (!duplicateEmails.isEmpty()) {
+            throw rejectDuplicateEmail(new EmployeeAlreadyExistsException("Batch contains the same email more than once: " + duplicateEmails), "batch");
+        }
+        List<String> existingEmails = employeeRepository.findExistingEmails(emails.toArray(String[]::new));
+        if (!existingEmails.isEmpty()) {
+            throw rejectDuplicateEmail(new EmployeeAlreadyExistsException("Employees with same email already exist: " + existingEmails), "batch");
+        }
+        List<Employee> savedEmployees = new ArrayList<>(employees.size());
+        try {
+            for (int from = 0; from < employees.size(); from += FLUSH_INTERVAL) {
+                List<Employee> chunk = employees.subList(from, Math.min(from + FLUSH_INTERVAL, employees.size()));
+                savedEmployees.addAll(employeeRepository.saveAll(chunk));
+                // inserts go out as JDBC batches on flush; clearing keeps dirty checking from scanning every earlier chunk
+                employeeRepository.flush();
+                entityManager.clear();
+            }
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent insert can still take one of the emails between the lookup and the flush
+            throw translateDuplicateEmail(e, "one of the batch emails", "batch");
         }
-        return employeeRepository.save(employee);
+        publishChanged(EmployeeChangedEvent.saved(savedEmployees));
+        return savedEmployees;
     }
 
+    // read-only transactions skip the flush, and with it dirty checking, on commit
     @Override
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeePage(Long afterId, int limit) {
+        // one extra row tells us whether there is a next page without a count query
+        List<Employee> employees = employeeRepository.findPageAfter(afterId == null ? 0L : afterId, limit + 1);
+        return toPage(employees, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePage searchEmployees(String query, Long afterId, int limit) {
+        List<Employee> employees = employeeRepository.searchPageAfter(containsPattern(query), afterId == null ? 0L : afterId, limit + 1);
+        return toPage(employees, limit);
+    }
+
+    private static EmployeePage toPage(List<Employee> employees, int limit) {
+        if (employees.size() <= limit) {
+            return new EmployeePage(employees, null);
+        }
+        List<Employee> content = List.copyOf(employees.subList(0, limit));
+        return new EmployeePage(content, EmployeeCursor.encode(content.get(limit - 1).getId()));
+    }
+
+    /**
+     * LIKE pattern matching the query anywhere, with the query's own wildcards taken literally.
+     */
+    static String containsPattern(String query) {
+        String escaped = query.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // keeps the persistence context, and with it the heap, from growing with the table
+                entityManager.detach(employee);
+            });
+        }
+    }
+
+    // the repository loads these read-only; a transaction here would take a connection even when the directory answers
     @Override
     public Optional<Employee> getEmployeeById(Long id) {
+        if (isDirectoryReady()) {
+            return employeeDirectory.findById(id);
+        }
         return employeeRepository.findById(id);
     }
 
     @Override
+    public Optional<Employee> getEmployeeByEmail(String email) {
+        if (isDirectoryReady()) {
+            return employeeDirectory.findByEmail(email);
+        }
+        return employeeRepository.findByEmail(email);
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeByFullName(String firstName, String lastName) {
+        if (isDirectoryReady()) {
+            return employeeDirectory.findByFullName(firstName, lastName);
+        }
+        return employeeRepository.findByFullName(firstName, lastName);
+    }
+
+    @Override
+    @Transactional
     public Employee updateEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        if (employee.getVersion() == null) {
+            // no expected version, so the update applies to the current row; read here, in a read-write transaction,
+            // as the caller's lookup may have come from a replica, the cache or the directory
+            employee.setVersion(employeeRepository.findById(employee.getId())
+                    .orElseThrow(() -> versionMismatch(employee.getId(), null))
+                    .getVersion());
+        }
+        Employee updatedEmployee;
+        try {
+            updatedEmployee = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e, employee.getEmail(), "update");
+        } catch (OptimisticLockingFailureException e) {
+            throw versionMismatch(employee.getId(), e);
+        }
+        publishChanged(EmployeeChangedEvent.saved(List.of(updatedEmployee)));
+        return updatedEmployee;
     }
 
     @Override
-    public void deleteEmployeeById(Long id) {
-        employeeRepository.deleteById(id);
+    public Optional<Employee> patchEmployee(Long id, EmployeePatch patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            Optional<Employee> employee = employeeRepository.findById(id);
+            if (expectedVersion != null && employee.isPresent() && !expectedVersion.equals(employee.get().getVersion())) {
+                throw versionMismatch(id, null);
+            }
+            return employee;
+        }
+        Optional<Employee> patchedEmployee;
+        try {
+            patchedEmployee = employeeRepository.patch(id, patch, expectedVersion);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e, patch.email(), "patch");
+        } catch (OptimisticLockingFailureException e) {
+            throw versionMismatch(id, e);
+        }
+        patchedEmployee.ifPresent(employee -> publishChanged(EmployeeChangedEvent.saved(List.of(employee))));
+        return patchedEmployee;
+    }
+
+    @Override
+    public boolean deleteEmployeeById(Long id) {
+        if (employeeRepository.removeById(id) == 0) {
+            return false;
+        }
+        publishChanged(EmployeeChangedEvent.deleted(List.of(id)));
+        return true;
+    }
+
+    @Override
+    public BulkDeleteResult deleteEmployees(List<Long> ids) {
+        Long[] distinctIds = ids.stream().filter(Objects::nonNull).distinct().toArray(Long[]::new);
+        if (distinctIds.length == 0) {
+            return new BulkDeleteResult(0, 0);
+        }
+        // one statement whatever the number of ids, instead of a lookup and a delete per id
+        int deleted = employeeRepository.removeAllById(distinctIds);
+        if (deleted > 0) {
+            publishChanged(EmployeeChangedEvent.deleted(Arrays.asList(distinctIds)));
+        }
+        return new BulkDeleteResult(distinctIds.length, deleted);
+    }
+
+    private boolean isDirectoryReady() {
+        return employeeDirectory != null && employeeDirectory.isReady();
+    }
+
+    // inside a transaction the listeners run around its commit, otherwise right away
+    private void publishChanged(EmployeeChangedEvent event) {
+        eventPublisher.publishEvent(event);
+    }
+
+    private static EmployeeVersionMismatchException versionMismatch(Long id, Throwable cause) {
+        return new EmployeeVersionMismatchException("Employee " + id + " was changed since it was read", cause);
+    }
+
+    private RuntimeException translateDuplicateEmail(DataIntegrityViolationException e, String email, String operation) {
+        if (isDuplicateEmail(e)) {
+            return rejectDuplicateEmail(new EmployeeAlreadyExistsException("Employee with same email already exists: " + email, e), operation);
+        }
+        return e;
+    }
+
+    static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && EMAIL_UNIQUE_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private EmployeeAlreadyExistsException rejectDuplicateEmail(EmployeeAlreadyExistsException e, String operation) {
+        meterRegistry.counter(DUPLICATE_EMAIL_REJECTIONS, "operation", operation).increment();
+        return e;
     }
 }
@@ -0,0 +1,184 @@
+package org.etjen.spring_boot_testing_ult.service.custom;
+
+import io.r2dbc.postgresql.api.PostgresqlException;
+import org.etjen.spring_boot_testing_ult.config.ReactiveEmployeeConfig;
+import org.etjen.spring_boot_testing_ult.dto.BulkDeleteResult;
+import org.etjen.spring_boot_testing_ult.dto.EmployeeCursor;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePage;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.exception.EmployeeAlreadyExistsException;
+import org.etjen.spring_boot_testing_ult.exception.EmployeeVersionMismatchException;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.reactive.ReactiveEmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.etjen.spring_boot_testing_ult.service.custom.EmployeeServiceImpl.EMAIL_UNIQUE_CONSTRAINT;
+
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+    ReactiveEmployeeRepository employeeRepository;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        return employeeRepository.save(withInitialVersion(employee))
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateDuplicateEmail(e, employee.getEmail()));
+    }
+
+    @Override
+    @Transactional(transactionManager = ReactiveEmployeeConfig.REACTIVE_TRANSACTION_MANAGER)
+    public Flux<Employee> saveEmployees(List<Employee> employees) {
+        Set<String> emails = new HashSet<>();
+        Set<String> duplicateEmails = new LinkedHashSet<>();
+        for (Employee employee : employees) {
+            if (!emails.add(employee.getEmail())) {
+                duplicateEmails.add(employee.getEmail());
+            }
+        }
+        if (!duplicateEmails.isEmpty()) {
+            return Flux.error(new EmployeeAlreadyExistsException("Batch contains the same email more than once: " + duplicateEmails));
+        }
+        return employeeRepository.findExistingEmails(emails.toArray(String[]::new))
+                .collectList()
+                .flatMapMany(existingEmails -> existingEmails.isEmpty()
+                        ? employeeRepository.saveAll(employees.stream().map(ReactiveEmployeeServiceImpl::withInitialVersion).toList())
+                        : Flux.error(new EmployeeAlreadyExistsException("Employees with same email already exist: " + existingEmails)))
+                // a concurrent insert can still take one of the emails between the lookup and the inserts
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateDuplicateEmail(e, "one of the batch emails"));
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    @Override
+    public Mono<EmployeePage> getEmployeePage(Long afterId, int limit) {
+        // one extra row tells us whether there is a next page without a count query
+        return employeeRepository.findPageAfter(afterId == null ? 0L : afterId, limit + 1)
+                .collectList()
+                .map(employees -> toPage(employees, limit));
+    }
+
+    @Override
+    public Mono<EmployeePage> searchEmployees(String query, Long afterId, int limit) {
+        return employeeRepository.searchPageAfter(EmployeeServiceImpl.containsPattern(query), afterId == null ? 0L : afterId, limit + 1)
+                .collectList()
+                .map(employees -> toPage(employees, limit));
+    }
+
+    private static EmployeePage toPage(List<Employee> employees, int limit) {
+        if (employees.size() <= limit) {
+            return new EmployeePage(employees, null);
+        }
+        List<Employee> content = List.copyOf(employees.subList(0, limit));
+        return new EmployeePage(content, EmployeeCursor.encode(content.get(limit - 1).getId()));
+    }
+
+    @Override
+    public Flux<Employee> exportEmployees() {
+        // rows are pulled from the connection as the subscriber asks for them, so nothing is buffered per table size
+        return employeeRepository.streamAll();
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(Long id) {
+        return employeeRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeByEmail(String email) {
+        return employeeRepository.findByEmail(email);
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeByFullName(String firstName, String lastName) {
+        return employeeRepository.findByFullName(firstName, lastName);
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Employee employee) {
+        return employeeRepository.updateIfVersion(employee.getId(), employee.getVersion(), employee.getFirstName(),
+                        employee.getLastName(), employee.getEmail())
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateDuplicateEmail(e, employee.getEmail()))
+                .switchIfEmpty(versionMismatchUnlessGone(employee.getId()));
+    }
+
+    @Override
+    public Mono<Employee> patchEmployee(Long id, EmployeePatch patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            return employeeRepository.findById(id)
+                    .flatMap(employee -> expectedVersion != null && !expectedVersion.equals(employee.getVersion())
+                            ? Mono.error(versionMismatch(id))
+                            : Mono.just(employee));
+        }
+        if (expectedVersion == null) {
+            return employeeRepository.patch(id, patch.firstName(), patch.lastName(), patch.email())
+                    .onErrorMap(DataIntegrityViolationException.class, e -> translateDuplicateEmail(e, patch.email()));
+        }
+        return employeeRepository.patchIfVersion(id, expectedVersion, patch.firstName(), patch.lastName(), patch.email())
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateDuplicateEmail(e, patch.email()))
+                .switchIfEmpty(versionMismatchUnlessGone(id));
+    }
+
+    @Override
+    public Mono<Boolean> deleteEmployeeById(Long id) {
+        return employeeRepository.removeById(id).map(deleted -> deleted > 0);
+    }
+
+    @Override
+    public Mono<BulkDeleteResult> deleteEmployees(List<Long> ids) {
+        Long[] distinctIds = ids.stream().filter(Objects::nonNull).distinct().toArray(Long[]::new);
+        if (distinctIds.length == 0) {
+            return Mono.just(new BulkDeleteResult(0, 0));
+        }
+        // one statement whatever the number of ids, instead of a lookup and a delete per id
+        return employeeRepository.removeAllById(distinctIds)
+                .map(deleted -> new BulkDeleteResult(distinctIds.length, deleted.intValue()));
+    }
+
+    // a conditional update matching no row either lost to a concurrent change or found the row deleted; only the
+    // failure path pays for telling them apart, and a deleted row completes empty like any other missing employee
+    private Mono<Employee> versionMismatchUnlessGone(Long id) {
+        return Mono.defer(() -> employeeRepository.existsById(id))
+                .flatMap(exists -> exists ? Mono.error(versionMismatch(id)) : Mono.empty());
+    }
+
+    private static EmployeeVersionMismatchException versionMismatch(Long id) {
+        return new EmployeeVersionMismatchException("Employee " + id + " was changed since it was read");
+    }
+
+    // the column defaults to 0 as well, but R2DBC only reads the id back after an insert
+    private static Employee withInitialVersion(Employee employee) {
+        if (employee.getVersion() == null) {
+            employee.setVersion(0L);
+        }
+        return employee;
+    }
+
+    private static Throwable translateDuplicateEmail(DataIntegrityViolationException e, String email) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof PostgresqlException violation
+                    && violation.getErrorDetails().getConstraintName().filter(EMAIL_UNIQUE_CONSTRAINT::equalsIgnoreCase).isPresent()) {
+                return new EmployeeAlreadyExistsException("Employee with same email already exists: " + email, e);
+            }
+        }
+        return e;
+    }
+}
@@ -0,0 +1,28 @@
+-- Written to also adopt schemas that were created by ddl-auto=update before Flyway was introduced.
+
+CREATE SEQUENCE IF NOT EXISTS employees_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS employees (
+    id         bigint       NOT NULL,
+    first_name varchar(255) NOT NULL,
+    last_name  varchar(255) NOT NULL,
+    email      varchar(255) NOT NULL,
+    CONSTRAINT employees_pkey PRIMARY KEY (id)
+);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_employees_email') THEN
+        ALTER TABLE employees ADD CONSTRAINT uk_employees_email UNIQUE (email);
+    END IF;
+END
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_employees_last_name_first_name ON employees (last_name, first_name);
+
+-- Hibernate's pooled optimizer treats each sequence value as the top of a block of 50 ids,
+-- so the next value has to clear both the existing rows and any block already handed out.
+SELECT setval('employees_seq',
+              GREATEST(COALESCE((SELECT MAX(id) FROM employees), 0) + 50,
+                       (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM employees_seq)),
+              false);
@@ -0,0 +1,11 @@
+-- R2DBC inserts leave the id out, so the column takes it from the sequence Hibernate allocates from.
+-- Each nextval reserves a whole block of 50 ids, so the two writers never hand out the same id.
+-- Schemas created by ddl-auto=update have an identity column here, which can't also take a default.
+ALTER TABLE employees ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE employees ALTER COLUMN id SET DEFAULT nextval('employees_seq');
+
+-- as in V1, the next block has to clear the existing rows and any block already handed out
+SELECT setval('employees_seq',
+              GREATEST(COALESCE((SELECT MAX(id) FROM employees), 0) + 50,
+                       (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM employees_seq)),
+              false);
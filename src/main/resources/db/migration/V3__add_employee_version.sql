@@ -0,0 +1,2 @@
+-- Optimistic locking: every update bumps the version and only applies when the version it read is still current.
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
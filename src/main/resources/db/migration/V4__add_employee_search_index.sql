@@ -0,0 +1,6 @@
+-- Substring search over name and email: a trigram index serves LIKE '%term%' on the same expression,
+-- which a btree can't. Terms shorter than a trigram can't use it, so the API requires at least 3 characters.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_employees_search_trgm
+    ON employees USING gin (lower(first_name || ' ' || last_name || ' ' || email) gin_trgm_ops);
@@ -0,0 +1,65 @@
+package org.etjen.spring_boot_testing_ult.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.etjen.spring_boot_testing_ult.controller.EmployeeController;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.custom.EmployeeServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Request mapping, argument binding and JSON conversion of {@link EmployeeController} without a servlet container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeControllerBenchmark {
+    private static final int EMPLOYEES = 1_000;
+
+    private MockMvc mockMvc;
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        EmployeeRepository employeeRepository = new InMemoryEmployeeRepository();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employeeRepository.save(Employee.builder().firstName("First" + i).lastName("Last" + i).email("employee" + i + "@gmail.com").build());
+        }
+        EmployeeController employeeController = new EmployeeController(new EmployeeServiceImpl(employeeRepository, null, new SimpleMeterRegistry(), event -> {}, null), objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(employeeController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    @Benchmark
+    public MvcResult getEmployeeById() throws Exception {
+        return mockMvc.perform(get("/api/employee/{id}", ThreadLocalRandom.current().nextLong(1, EMPLOYEES + 1))).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult createEmployee() throws Exception {
+        long n = emailSequence.incrementAndGet();
+        return mockMvc.perform(post("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Bench\",\"lastName\":\"Mark\",\"email\":\"bench" + n + "@gmail.com\"}"))
+                .andReturn();
+    }
+}
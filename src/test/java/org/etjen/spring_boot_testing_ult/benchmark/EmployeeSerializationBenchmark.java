@@ -0,0 +1,48 @@
+package org.etjen.spring_boot_testing_ult.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+    @Param({"1", "1000", "100000"})
+    public int size;
+
+    private ObjectWriter listWriter;
+    private ObjectWriter employeeWriter;
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() {
+        // same defaults as the ObjectMapper Spring Boot configures for the controllers
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+        employeeWriter = objectMapper.writerFor(Employee.class);
+        employees = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> Employee.builder().id(id).firstName("First" + id).lastName("Last" + id).email("employee" + id + "@gmail.com").build())
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws JsonProcessingException {
+        return employeeWriter.writeValueAsBytes(employees.getFirst());
+    }
+}
@@ -0,0 +1,46 @@
+package org.etjen.spring_boot_testing_ult.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.custom.EmployeeServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+    private static final int EMPLOYEES = 10_000;
+
+    private EmployeeServiceImpl employeeService;
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        EmployeeRepository employeeRepository = new InMemoryEmployeeRepository();
+        // the entity manager is only used by the batch and export paths, which aren't measured here
+        employeeService = new EmployeeServiceImpl(employeeRepository, null, new SimpleMeterRegistry(), event -> {}, null);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employeeRepository.save(Employee.builder().firstName("First" + i).lastName("Last" + i).email("employee" + i + "@gmail.com").build());
+        }
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        long n = emailSequence.incrementAndGet();
+        return employeeService.saveEmployee(Employee.builder().firstName("Bench").lastName("Mark").email("bench" + n + "@gmail.com").build());
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById() {
+        return employeeService.getEmployeeById(ThreadLocalRandom.current().nextLong(1, EMPLOYEES + 1));
+    }
+}
@@ -0,0 +1,320 @@
+package org.etjen.spring_boot_testing_ult.benchmark;
+
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Map backed stand-in for {@link EmployeeRepository}, so the benchmarks measure our code and not the database.
+ * Entities are stored as given, like a persistence context would keep them, and the version is bumped on update.
+ * Query by example matches on the probe's non-null properties, and the fluent variant isn't supported.
+ */
+class InMemoryEmployeeRepository implements EmployeeRepository {
+    private final Map<Long, Employee> employees = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public <S extends Employee> S save(S employee) {
+        if (employee.getId() == null) {
+            employee.setId(sequence.incrementAndGet());
+            employee.setVersion(0L);
+        } else {
+            Employee current = employees.get(employee.getId());
+            if (current != null && !Objects.equals(current.getVersion(), employee.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getId());
+            }
+            employee.setVersion(current == null ? 0L : current.getVersion() + 1);
+        }
+        employees.put(employee.getId(), employee);
+        return employee;
+    }
+
+    @Override
+    public <S extends Employee> S saveAndFlush(S employee) {
+        return save(employee);
+    }
+
+    @Override
+    public <S extends Employee> List<S> saveAll(Iterable<S> employees) {
+        return stream(employees).map(this::save).toList();
+    }
+
+    @Override
+    public <S extends Employee> List<S> saveAllAndFlush(Iterable<S> employees) {
+        return saveAll(employees);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public Optional<Employee> findById(Long id) {
+        return Optional.ofNullable(employees.get(id));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return employees.containsKey(id);
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return new ArrayList<>(employees.values());
+    }
+
+    @Override
+    public List<Employee> findAllById(Iterable<Long> ids) {
+        return stream(ids).map(employees::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public List<Employee> findAll(Sort sort) {
+        return employees.values().stream().sorted(comparator(sort)).toList();
+    }
+
+    @Override
+    public Page<Employee> findAll(Pageable pageable) {
+        return page(findAll(pageable.getSort()), pageable);
+    }
+
+    @Override
+    public long count() {
+        return employees.size();
+    }
+
+    @Override
+    public Employee getReferenceById(Long id) {
+        return findById(id).orElseThrow();
+    }
+
+    @Override
+    @Deprecated
+    public Employee getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Employee getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        employees.remove(id);
+    }
+
+    @Override
+    public void delete(Employee employee) {
+        employees.remove(employee.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(employees::remove);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Employee> employees) {
+        employees.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        employees.clear();
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Employee> employees) {
+        deleteAll(employees);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    public <S extends Employee> Optional<S> findOne(Example<S> example) {
+        return this.<S>matching(example).findFirst();
+    }
+
+    @Override
+    public <S extends Employee> List<S> findAll(Example<S> example) {
+        return this.<S>matching(example).toList();
+    }
+
+    @Override
+    public <S extends Employee> List<S> findAll(Example<S> example, Sort sort) {
+        return this.<S>matching(example).sorted(comparator(sort)).toList();
+    }
+
+    @Override
+    public <S extends Employee> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return page(findAll(example, pageable.getSort()), pageable);
+    }
+
+    @Override
+    public <S extends Employee> long count(Example<S> example) {
+        return matching(example).count();
+    }
+
+    @Override
+    public <S extends Employee> boolean exists(Example<S> example) {
+        return matching(example).findAny().isPresent();
+    }
+
+    @Override
+    public <S extends Employee, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException("Fluent queries by example aren't supported in memory");
+    }
+
+    @Override
+    public Optional<Employee> findByEmail(String email) {
+        return first(employee -> employee.getEmail().equals(email));
+    }
+
+    @Override
+    public Optional<Employee> findByFullName(String firstName, String lastName) {
+        return first(employee -> employee.getFirstName().equals(firstName) && employee.getLastName().equals(lastName));
+    }
+
+    @Override
+    public List<Employee> findPageAfter(Long after, int limit) {
+        return employees.values().stream().filter(employee -> employee.getId() > after).limit(limit).toList();
+    }
+
+    @Override
+    public List<Employee> searchPageAfter(String pattern, Long after, int limit) {
+        Predicate<String> like = likePredicate(pattern);
+        return employees.values().stream()
+                .filter(employee -> employee.getId() > after)
+                .filter(employee -> like.test((employee.getFirstName() + " " + employee.getLastName() + " " + employee.getEmail()).toLowerCase(Locale.ROOT)))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<String> findExistingEmails(String[] emails) {
+        Set<String> wanted = Set.of(emails);
+        return employees.values().stream().map(Employee::getEmail).filter(wanted::contains).toList();
+    }
+
+    @Override
+    public Stream<Employee> streamAll() {
+        return employees.values().stream();
+    }
+
+    @Override
+    public int removeById(Long id) {
+        return employees.remove(id) != null ? 1 : 0;
+    }
+
+    @Override
+    public int removeAllById(Long[] ids) {
+        return (int) Arrays.stream(ids).filter(id -> employees.remove(id) != null).count();
+    }
+
+    @Override
+    public Optional<Employee> patch(Long id, EmployeePatch patch, Long expectedVersion) {
+        Employee employee = employees.get(id);
+        if (employee == null) {
+            return Optional.empty();
+        }
+        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+        }
+        Employee patched = Employee.builder()
+                .id(id)
+                .firstName(patch.firstName() != null ? patch.firstName() : employee.getFirstName())
+                .lastName(patch.lastName() != null ? patch.lastName() : employee.getLastName())
+                .email(patch.email() != null ? patch.email() : employee.getEmail())
+                .version(employee.getVersion() + 1)
+                .build();
+        employees.put(id, patched);
+        return Optional.of(patched);
+    }
+
+    private Optional<Employee> first(Predicate<Employee> predicate) {
+        return employees.values().stream().filter(predicate).findFirst();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S extends Employee> Stream<S> matching(Example<S> example) {
+        BeanWrapperImpl probe = new BeanWrapperImpl(example.getProbe());
+        Map<String, Object> values = Arrays.stream(probe.getPropertyDescriptors())
+                .filter(property -> property.getWriteMethod() != null && probe.getPropertyValue(property.getName()) != null)
+                .collect(Collectors.toMap(property -> property.getName(), property -> probe.getPropertyValue(property.getName())));
+        return employees.values().stream()
+                .filter(employee -> {
+                    BeanWrapperImpl candidate = new BeanWrapperImpl(employee);
+                    return values.entrySet().stream().allMatch(value -> value.getValue().equals(candidate.getPropertyValue(value.getKey())));
+                })
+                .map(employee -> (S) employee);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <S extends Employee> Comparator<S> comparator(Sort sort) {
+        Comparator<S> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<S> byProperty = Comparator.comparing(
+                    employee -> (Comparable) new BeanWrapperImpl(employee).getPropertyValue(order.getProperty()),
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    private static <S> Page<S> page(List<S> sorted, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted);
+        }
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+    }
+
+    // the service escapes the query and wraps it in %, which is all this needs to understand
+    private static Predicate<String> likePredicate(String pattern) {
+        String term = pattern.substring(1, pattern.length() - 1)
+                .replace("\\%", "%")
+                .replace("\\_", "_")
+                .replace("\\\\", "\\");
+        return value -> value.contains(term);
+    }
+
+    private static <T> Stream<T> stream(Iterable<T> iterable) {
+        return StreamSupport.stream(iterable.spliterator(), false);
+    }
+}
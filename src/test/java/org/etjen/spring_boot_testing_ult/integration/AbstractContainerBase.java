@@ -1,9 +1,11 @@
 package org.etjen.spring_boot_testing_ult.integration;
 
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 
 public abstract class AbstractContainerBase {
-    static final PostgreSQLContainer postgresSqlContainer;
+    protected static final PostgreSQLContainer postgresSqlContainer;
     static {
         postgresSqlContainer = new PostgreSQLContainer("postgres:latest")
                 .withDatabaseName("tests")
@@ -11,4 +13,13 @@ public abstract class AbstractContainerBase {
                 .withPassword("0000");
         postgresSqlContainer.start();
     }
+
+    @DynamicPropertySource
+    static void registerDataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgresSqlContainer.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", postgresSqlContainer::getUsername);
+        registry.add("spring.datasource.password", postgresSqlContainer::getPassword);
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://" + postgresSqlContainer.getHost() + ":"
+                + postgresSqlContainer.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + postgresSqlContainer.getDatabaseName());
+    }
 }
@@ -0,0 +1,73 @@
+package org.etjen.spring_boot_testing_ult.integration;
+
+import org.etjen.spring_boot_testing_ult.SpringBootTestingUltApplication;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrades a database whose schema was created by ddl-auto=update, before Flyway managed it. It gets a database of
+ * its own on the shared container, so the other tests' migrated schema is left alone.
+ */
+public class SchemaMigrationITTestcontainers extends AbstractContainerBase {
+    private static final String DATABASE = "baseline_upgrade";
+    // what ddl-auto=update created for the original entity, with its IDENTITY id
+    private static final String BASELINE_DDL = "create table employees (id bigint generated by default as identity, "
+            + "email varchar(255) not null, first_name varchar(255) not null, last_name varchar(255) not null, primary key (id))";
+
+    private final String jdbcUrl = "jdbc:postgresql://" + postgresSqlContainer.getHost() + ":"
+            + postgresSqlContainer.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + DATABASE;
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource(jdbcUrl, postgresSqlContainer.getUsername(), postgresSqlContainer.getPassword()));
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate serverJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(postgresSqlContainer.getJdbcUrl(),
+                postgresSqlContainer.getUsername(), postgresSqlContainer.getPassword()));
+        serverJdbcTemplate.execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+        serverJdbcTemplate.execute("CREATE DATABASE " + DATABASE);
+        jdbcTemplate.execute(BASELINE_DDL);
+        jdbcTemplate.update("INSERT INTO employees (first_name, last_name, email) VALUES ('First', 'Test', 'first@gmail.com'), "
+                + "('Second', 'Test', 'second@gmail.com')");
+    }
+
+    @Test
+    void givenSchemaFromDdlAutoUpdate_whenMigrated_thenIdsComeFromTheSequenceAndTheApplicationStarts() {
+        // given
+        Long maxBaselineId = jdbcTemplate.queryForObject("SELECT max(id) FROM employees", Long.class);
+
+        // when
+        MigrateResult result = Flyway.configure()
+                .dataSource(jdbcUrl, postgresSqlContainer.getUsername(), postgresSqlContainer.getPassword())
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        // then
+        assertThat(result.success).isTrue();
+        assertThat(result.targetSchemaVersion).isEqualTo("4");
+        assertThat(jdbcTemplate.queryForObject("SELECT is_identity FROM information_schema.columns "
+                + "WHERE table_name = 'employees' AND column_name = 'id'", String.class)).isEqualTo("NO");
+        Long defaultedId = jdbcTemplate.queryForObject("INSERT INTO employees (first_name, last_name, email) "
+                + "VALUES ('Third', 'Test', 'third@gmail.com') RETURNING id", Long.class);
+        assertThat(defaultedId).isGreaterThan(maxBaselineId);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM employees", Integer.class)).isEqualTo(3);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootTestingUltApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + postgresSqlContainer.getUsername(),
+                        "--spring.datasource.password=" + postgresSqlContainer.getPassword())) {
+            assertThat(context.isRunning()).isTrue();
+        }
+    }
+}
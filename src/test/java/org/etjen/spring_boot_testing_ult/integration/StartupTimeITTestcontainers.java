@@ -0,0 +1,63 @@
+package org.etjen.spring_boot_testing_ult.integration;
+
+import org.etjen.spring_boot_testing_ult.SpringBootTestingUltApplication;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares context startup with Flyway plus schema validation against the old ddl-auto=update schema diffing.
+ * Both modes start against the same, already migrated database, taking turns so JIT warmup favours neither.
+ * The Flyway startup may be at most {@code -Dstartup.max-overhead-millis} slower, 500 ms unless set.
+ */
+public class StartupTimeITTestcontainers extends AbstractContainerBase {
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeITTestcontainers.class);
+    private static final int RUNS = 5;
+    private static final long MAX_OVERHEAD_MILLIS = Long.getLong("startup.max-overhead-millis", 500);
+
+    @Test
+    void givenMigratedSchema_whenContextStarts_thenValidatedStartupIsNoSlowerThanSchemaUpdate() {
+        // given
+        startupMillis();
+        long[] updateMillis = new long[RUNS];
+        long[] validateMillis = new long[RUNS];
+
+        // when
+        for (int run = 0; run < RUNS; run++) {
+            updateMillis[run] = startupMillis("--spring.flyway.enabled=false", "--spring.jpa.hibernate.ddl-auto=update");
+            validateMillis[run] = startupMillis();
+        }
+
+        // then
+        long updateMedian = median(updateMillis);
+        long validateMedian = median(validateMillis);
+        log.info("ddl-auto=update: {} ms, flyway + ddl-auto=validate: {} ms (median of {})", updateMedian, validateMedian, RUNS);
+        assertThat(validateMedian).isLessThanOrEqualTo(updateMedian + MAX_OVERHEAD_MILLIS);
+    }
+
+    private static long median(long[] millis) {
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        return sorted[RUNS / 2];
+    }
+
+    private long startupMillis(String... args) {
+        String[] allArgs = Arrays.copyOf(args, args.length + 3);
+        allArgs[args.length] = "--spring.datasource.url=" + postgresSqlContainer.getJdbcUrl();
+        allArgs[args.length + 1] = "--spring.datasource.username=" + postgresSqlContainer.getUsername();
+        allArgs[args.length + 2] = "--spring.datasource.password=" + postgresSqlContainer.getPassword();
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootTestingUltApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(allArgs)) {
+            return (System.nanoTime() - start) / 1_000_000;
+        }
+    }
+}
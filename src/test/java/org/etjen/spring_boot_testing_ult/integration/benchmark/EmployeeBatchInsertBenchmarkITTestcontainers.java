@@ -0,0 +1,74 @@
+package org.etjen.spring_boot_testing_ult.integration.benchmark;
+
+import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares inserting employees one request at a time with the batched bulk path.
+ * Row count can be changed with {@code -Dbenchmark.rows=50000}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class EmployeeBatchInsertBenchmarkITTestcontainers extends AbstractContainerBase {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeBatchInsertBenchmarkITTestcontainers.class);
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5_000);
+    private static final int WARMUP_ROWS = 500;
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void givenEmployees_whenSavedPerRowAndBatched_thenBatchedIsFaster() {
+        // given
+        insertPerRow(employees("warmup-row", WARMUP_ROWS));
+        employeeService.saveEmployees(employees("warmup-batch", WARMUP_ROWS));
+        employeeRepository.deleteAllInBatch();
+
+        // when
+        long perRowNanos = insertPerRow(employees("row", ROWS));
+        long batchStart = System.nanoTime();
+        employeeService.saveEmployees(employees("batch", ROWS));
+        long batchNanos = System.nanoTime() - batchStart;
+
+        // then
+        log.info("per-row: {} rows in {} ms ({} rows/s)", ROWS, perRowNanos / 1_000_000, rowsPerSecond(perRowNanos));
+        log.info("batched: {} rows in {} ms ({} rows/s)", ROWS, batchNanos / 1_000_000, rowsPerSecond(batchNanos));
+        assertThat(employeeRepository.count()).isEqualTo(2L * ROWS);
+        assertThat(rowsPerSecond(batchNanos)).isGreaterThan(rowsPerSecond(perRowNanos));
+    }
+
+    private long insertPerRow(List<Employee> employees) {
+        long start = System.nanoTime();
+        employees.forEach(employeeService::saveEmployee);
+        return System.nanoTime() - start;
+    }
+
+    private static List<Employee> employees(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Employee.builder().firstName("First" + i).lastName("Last" + i).email(prefix + i + "@gmail.com").build())
+                .toList();
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return Math.round(ROWS * 1_000_000_000.0 / nanos);
+    }
+}
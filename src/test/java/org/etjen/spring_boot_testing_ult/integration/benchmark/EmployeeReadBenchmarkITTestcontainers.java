@@ -0,0 +1,108 @@
+package org.etjen.spring_boot_testing_ult.integration.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.EmployeeService;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares listing every employee as managed entities in a read-write transaction, the way it was done before,
+ * with the read-only path the service uses now, which keeps no dirty-checking snapshots and skips the flush.
+ * Row count can be changed with {@code -Dbenchmark.rows=100000}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class EmployeeReadBenchmarkITTestcontainers extends AbstractContainerBase {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeReadBenchmarkITTestcontainers.class);
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+    private static final int WARMUP_RUNS = 3;
+    private static final int RUNS = 10;
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAllInBatch();
+        employeeService.saveEmployees(IntStream.range(0, ROWS)
+                .mapToObj(i -> Employee.builder().firstName("First" + i).lastName("Last" + i).email("employee" + i + "@gmail.com").build())
+                .toList());
+    }
+
+    @Test
+    void givenEmployees_whenListedManagedAndReadOnly_thenReadOnlyAllocatesLess() {
+        // given
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        Supplier<List<Employee>> managed = () -> readWrite.execute(status -> {
+            List<Employee> employees = entityManager.createQuery("SELECT e FROM Employee e", Employee.class).getResultList();
+            assertThat(entityManager.unwrap(Session.class).isReadOnly(employees.getFirst())).isFalse();
+            return employees;
+        });
+        Supplier<List<Employee>> readOnly = employeeService::getAllEmployees;
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            managed.get();
+            readOnly.get();
+        }
+
+        // when
+        Measurement managedMeasurement = measure(managed);
+        Measurement readOnlyMeasurement = measure(readOnly);
+
+        // then
+        log.info("managed:   {} rows in {} ms, {} KB allocated (median of {})",
+                ROWS, managedMeasurement.millis(), managedMeasurement.allocatedBytes() / 1024, RUNS);
+        log.info("read-only: {} rows in {} ms, {} KB allocated (median of {})",
+                ROWS, readOnlyMeasurement.millis(), readOnlyMeasurement.allocatedBytes() / 1024, RUNS);
+        assertThat(managedMeasurement.rows()).isEqualTo(ROWS);
+        assertThat(readOnlyMeasurement.rows()).isEqualTo(ROWS);
+        // allocation is counted per thread and doesn't swing with machine load the way time does
+        assertThat(readOnlyMeasurement.allocatedBytes()).isLessThan(managedMeasurement.allocatedBytes());
+    }
+
+    private static Measurement measure(Supplier<List<Employee>> listing) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] millis = new long[RUNS];
+        long[] allocatedBytes = new long[RUNS];
+        int rows = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            rows = listing.get().size();
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+            allocatedBytes[i] = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+        return new Measurement(median(millis), median(allocatedBytes), rows);
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private record Measurement(long millis, long allocatedBytes, int rows) {
+    }
+}
@@ -137,7 +137,7 @@ public class EmployeeControllerIT {
     }
 
     @Test
-    void givenEmployeeId_whenDeleteEmployee_thenReturnOk() throws Exception {
+    void givenEmployeeId_whenDeleteEmployee_thenReturnNoContent() throws Exception {
         // given
         employeeRepository.saveAndFlush(employee);
 
@@ -146,6 +146,6 @@ public class EmployeeControllerIT {
 
         // then
         resultActions
-                .andExpect(MockMvcResultMatchers.status().isOk());
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
     }
 }
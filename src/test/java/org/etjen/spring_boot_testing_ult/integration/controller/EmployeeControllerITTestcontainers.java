@@ -8,8 +8,10 @@ import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -20,10 +22,13 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
+// tests leave metrics export off, which would also hide the Prometheus endpoint
+@AutoConfigureObservability(tracing = false)
 public class EmployeeControllerITTestcontainers extends AbstractContainerBase {
     @Autowired
     private MockMvc mockMvc;
@@ -123,6 +128,70 @@ public class EmployeeControllerITTestcontainers extends AbstractContainerBase {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(updatedEmployee.getEmail())));
     }
 
+    @Test
+    void givenEmployeeIdAndEmployeeObject_whenUpdateEmployee_thenPersistTheUpdate() throws Exception {
+        // given
+        employeeRepository.saveAndFlush(employee);
+        Employee updatedEmployee = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+
+        // when
+        mockMvc.perform(put("/api/employee/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedEmployee)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // then
+        Employee reread = employeeRepository.findById(employee.getId()).orElseThrow();
+        assertThat(reread.getEmail()).isEqualTo(updatedEmployee.getEmail());
+        assertThat(reread.getVersion()).isEqualTo(employee.getVersion() + 1);
+    }
+
+    @Test
+    void givenTwoClientsWithSameETag_whenBothUpdateEmployee_thenSecondUpdateFailsPrecondition() throws Exception {
+        // given
+        employeeRepository.saveAndFlush(employee);
+        String eTag = mockMvc.perform(get("/api/employee/{id}", employee.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Employee firstUpdate = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        Employee secondUpdate = Employee.builder().firstName("Test3").lastName("Test3").email("test3@gmail.com").build();
+
+        // when
+        ResultActions firstResult = mockMvc.perform(put("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(firstUpdate)));
+        ResultActions secondResult = mockMvc.perform(put("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(secondUpdate)));
+
+        // then
+        firstResult
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, CoreMatchers.not(eTag)));
+        secondResult
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+        mockMvc.perform(get("/api/employee/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(firstUpdate.getEmail())));
+    }
+
+    @Test
+    void givenCurrentETag_whenGetEmployeeById_thenReturnNotModified() throws Exception {
+        // given
+        employeeRepository.saveAndFlush(employee);
+        String eTag = mockMvc.perform(get("/api/employee/{id}", employee.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
     @Test
     void givenNonExistentEmployeeIdAndEmployeeObject_whenUpdateEmployee_thenReturnNotFound() throws Exception {
         // given
@@ -140,7 +209,7 @@ public class EmployeeControllerITTestcontainers extends AbstractContainerBase {
     }
 
     @Test
-    void givenEmployeeId_whenDeleteEmployee_thenReturnOk() throws Exception {
+    void givenEmployeeId_whenDeleteEmployee_thenReturnNoContent() throws Exception {
         // given
         employeeRepository.saveAndFlush(employee);
 
@@ -149,6 +218,28 @@ public class EmployeeControllerITTestcontainers extends AbstractContainerBase {
 
         // then
         resultActions
-                .andExpect(MockMvcResultMatchers.status().isOk());
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+    }
+
+    @Test
+    void givenServedRequests_whenScrapePrometheus_thenExposeServiceRepositoryAndPoolMetrics() throws Exception {
+        // given
+        employeeRepository.saveAndFlush(employee);
+        mockMvc.perform(get("/api/employee/{id}", employee.getId()));
+        mockMvc.perform(post("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Employee.builder().firstName("Test2").lastName("Test2").email(employee.getEmail()).build())));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/actuator/prometheus"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(CoreMatchers.containsString("employee_service_seconds_count{")))
+                .andExpect(MockMvcResultMatchers.content().string(CoreMatchers.containsString("method=\"getEmployeeById\"")))
+                .andExpect(MockMvcResultMatchers.content().string(CoreMatchers.containsString("spring_data_repository_invocations_seconds_count{")))
+                .andExpect(MockMvcResultMatchers.content().string(CoreMatchers.containsString("employee_duplicate_email_rejections_total{")))
+                .andExpect(MockMvcResultMatchers.content().string(CoreMatchers.containsString("hikaricp_connections_acquire_seconds_bucket{")));
     }
 }
@@ -0,0 +1,209 @@
+package org.etjen.spring_boot_testing_ult.integration.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.etjen.spring_boot_testing_ult.dto.EmployeeCursor;
+import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
+import org.etjen.spring_boot_testing_ult.metrics.StatementCountFilter;
+import org.etjen.spring_boot_testing_ult.metrics.StatementCounter;
+import org.etjen.spring_boot_testing_ult.metrics.StatementCounter.StatementCounts;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Pins the number of statements each endpoint executes, so an extra query shows up as a failing test.
+ * Sequence fetches are only bounded: the pooled id generator fetches a new block of 50 ids whenever the current
+ * one runs out, which depends on earlier tests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class EmployeeControllerStatementCountITTestcontainers extends AbstractContainerBase {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private StatementCounter statementCounter;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        this.employee = Employee.builder().firstName("Test").lastName("Test").email("test@gmail.com").build();
+    }
+
+    @Test
+    void givenEmployeeObject_whenCreateEmployee_thenExecuteOneInsert() throws Exception {
+        // given
+
+        // when
+        mockMvc.perform(post("/api/employee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        // then
+        StatementCounts counts = statementCounter.current();
+        assertThat(counts.inserts()).isEqualTo(1);
+        assertThat(counts.selects()).isZero();
+        assertThat(counts.sequenceCalls()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void givenListOfEmployees_whenCreateEmployees_thenExecuteOneLookupAndOneInsertBatch() throws Exception {
+        // given
+        List<Employee> employeeList = List.of(
+                employee,
+                Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build(),
+                Employee.builder().firstName("Test3").lastName("Test3").email("test3@gmail.com").build()
+        );
+
+        // when
+        mockMvc.perform(post("/api/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeList)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        // then
+        StatementCounts counts = statementCounter.current();
+        assertThat(counts.selects()).isEqualTo(1);
+        assertThat(counts.inserts()).isEqualTo(1);
+        assertThat(counts.sequenceCalls()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void givenListOfEmployees_whenGetAllEmployees_thenExecuteOneSelect() throws Exception {
+        // given
+        employeeRepository.saveAllAndFlush(List.of(
+                employee,
+                Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build()
+        ));
+
+        // when
+        mockMvc.perform(get("/api/employee")).andExpect(MockMvcResultMatchers.status().isOk());
+
+        // then
+        assertThat(statementCounter.current()).isEqualTo(new StatementCounts(1, 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    void givenEmployees_whenGetEmployeePage_thenExecuteOneSelect() throws Exception {
+        // given
+        employeeRepository.saveAndFlush(employee);
+
+        // when
+        mockMvc.perform(get("/api/employee")
+                        .param("after", EmployeeCursor.encode(0L))
+                        .param("limit", "10"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // then
+        assertThat(statementCounter.current()).isEqualTo(new StatementCounts(1, 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    void givenEmployeeId_whenGetEmployeeById_thenExecuteOneSelectAndRecordIt() throws Exception {
+        // given
+        employeeRepository.saveAndFlush(employee);
+        double selectsBefore = selectsRecordedFor("GET", "/api/employee/{id}");
+
+        // when
+        mockMvc.perform(get("/api/employee/{id}", employee.getId())).andExpect(MockMvcResultMatchers.status().isOk());
+
+        // then
+        assertThat(statementCounter.current()).isEqualTo(new StatementCounts(1, 0, 0, 0, 0, 0));
+        assertThat(selectsRecordedFor("GET", "/api/employee/{id}") - selectsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void givenEmployeeIdAndEmployeeObject_whenUpdateEmployee_thenExecuteOneSelectAndOneUpdate() throws Exception {
+        // given
+        employeeRepository.saveAndFlush(employee);
+        Employee updatedEmployee = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+
+        // when
+        mockMvc.perform(put("/api/employee/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedEmployee)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // then
+        // the existence check; the merge inside save finds that entity in the open-in-view persistence context
+        assertThat(statementCounter.current()).isEqualTo(new StatementCounts(1, 0, 1, 0, 0, 0));
+    }
+
+    @Test
+    void givenEmployeeIdAndPatch_whenPatchEmployee_thenExecuteOneUpdateOnly() throws Exception {
+        // given
+        employeeRepository.saveAndFlush(employee);
+
+        // when
+        mockMvc.perform(patch("/api/employee/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"patched@gmail.com\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // then
+        // UPDATE ... RETURNING both writes the row and hands it back, so nothing is read first
+        assertThat(statementCounter.current()).isEqualTo(new StatementCounts(0, 0, 1, 0, 0, 0));
+    }
+
+    @Test
+    void givenEmployeeId_whenDeleteEmployee_thenExecuteOneDeleteOnly() throws Exception {
+        // given
+        employeeRepository.saveAndFlush(employee);
+
+        // when
+        mockMvc.perform(delete("/api/employee/{id}", employee.getId())).andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        // then
+        assertThat(statementCounter.current()).isEqualTo(new StatementCounts(0, 0, 0, 1, 0, 0));
+    }
+
+    @Test
+    void givenListOfIds_whenDeleteEmployees_thenExecuteOneDelete() throws Exception {
+        // given
+        List<Employee> employees = employeeRepository.saveAllAndFlush(List.of(
+                employee,
+                Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build(),
+                Employee.builder().firstName("Test3").lastName("Test3").email("test3@gmail.com").build()));
+        List<Long> ids = List.of(employees.get(0).getId(), employees.get(1).getId(), employees.get(2).getId(), 999_999_999L);
+
+        // when
+        mockMvc.perform(delete("/api/employee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requested").value(4))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deleted").value(3));
+
+        // then
+        assertThat(statementCounter.current()).isEqualTo(new StatementCounts(0, 0, 0, 1, 0, 0));
+        assertThat(employeeRepository.count()).isZero();
+    }
+
+    private double selectsRecordedFor(String method, String uri) {
+        DistributionSummary summary = meterRegistry.find(StatementCountFilter.METRIC_NAME)
+                .tags("method", method, "uri", uri, "type", "select")
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
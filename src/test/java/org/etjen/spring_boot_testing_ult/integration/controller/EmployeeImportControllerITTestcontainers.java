@@ -0,0 +1,107 @@
+package org.etjen.spring_boot_testing_ult.integration.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.etjen.spring_boot_testing_ult.dto.ImportJobStatus;
+import org.etjen.spring_boot_testing_ult.dto.ImportRowError;
+import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "employee.import.chunk-size=500")
+public class EmployeeImportControllerITTestcontainers extends AbstractContainerBase {
+    private static final int ROWS = 2_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void givenNdjsonFileSpanningSeveralChunks_whenImport_thenPersistAllRowsAndReportDuplicates() throws Exception {
+        // given
+        employeeRepository.saveAndFlush(Employee.builder().firstName("Test").lastName("Test").email("employee1500@gmail.com").build());
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            ndjson.append(objectMapper.writeValueAsString(Employee.builder()
+                    .firstName("First" + i).lastName("Last" + i).email("employee" + i + "@gmail.com").build())).append('\n');
+        }
+        // repeats a row of the first chunk, so it's only caught by the lookup against committed rows
+        ndjson.append(objectMapper.writeValueAsString(Employee.builder()
+                .firstName("Again").lastName("Again").email("employee3@gmail.com").build())).append('\n');
+
+        // when
+        MvcResult started = mockMvc.perform(post("/api/employee/imports")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson.toString()))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andReturn();
+        ImportJobStatus status = awaitFinished(started.getResponse().getHeader(HttpHeaders.LOCATION));
+
+        // then
+        assertThat(status.state()).isEqualTo(ImportJobStatus.State.COMPLETED);
+        assertThat(status.rowsRead()).isEqualTo(ROWS + 1);
+        assertThat(status.imported()).isEqualTo(ROWS - 1);
+        assertThat(status.errors()).extracting(ImportRowError::line).containsExactlyInAnyOrder(1501L, ROWS + 1L);
+        assertThat(employeeRepository.count()).isEqualTo(ROWS);
+    }
+
+    @Test
+    void givenCsvFile_whenImport_thenPersistRows() throws Exception {
+        // given
+        String csv = """
+                firstName,lastName,email
+                Test,Test,test@gmail.com
+                "Doe, Jr.",John,john@gmail.com
+                """;
+
+        // when
+        MvcResult started = mockMvc.perform(post("/api/employee/imports")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andReturn();
+        ImportJobStatus status = awaitFinished(started.getResponse().getHeader(HttpHeaders.LOCATION));
+
+        // then
+        assertThat(status.state()).isEqualTo(ImportJobStatus.State.COMPLETED);
+        assertThat(status.imported()).isEqualTo(2);
+        assertThat(employeeRepository.findByEmail("john@gmail.com")).get().extracting(Employee::getFirstName).isEqualTo("Doe, Jr.");
+    }
+
+    private ImportJobStatus awaitFinished(String location) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        ImportJobStatus status;
+        do {
+            Thread.sleep(50);
+            String body = mockMvc.perform(get(location)).andReturn().getResponse().getContentAsString();
+            status = objectMapper.readValue(body, ImportJobStatus.class);
+        } while (!status.isFinished() && System.nanoTime() < deadline);
+        return status;
+    }
+}
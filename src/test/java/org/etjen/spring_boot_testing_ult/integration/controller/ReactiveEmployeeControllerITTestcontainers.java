@@ -0,0 +1,284 @@
+package org.etjen.spring_boot_testing_ult.integration.controller;
+
+import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.reactive.ReactiveEmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerITTestcontainers extends AbstractContainerBase {
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private ReactiveEmployeeRepository employeeRepository;
+    @Autowired
+    private ReactiveEmployeeService employeeService;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll().block();
+        this.employee = Employee.builder().firstName("Test").lastName("Test").email("test@gmail.com").build();
+    }
+
+    @Test
+    void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+        // given
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.post().uri("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(employee.getLastName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    void givenExistingEmail_whenCreateEmployee_thenReturnConflict() {
+        // given
+        employeeRepository.save(employee).block();
+        Employee duplicate = Employee.builder().firstName("Test2").lastName("Test2").email(employee.getEmail()).build();
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.post().uri("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(duplicate)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void givenListOfEmployees_whenGetAllEmployees_thenReturnListOfEmployees() {
+        // given
+        List<Employee> employeeList = List.of(
+                employee,
+                Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build(),
+                Employee.builder().firstName("Test3").lastName("Test3").email("test3@gmail.com").build()
+        );
+        employeeRepository.saveAll(employeeList).blockLast();
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get().uri("/api/employee").exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(employeeList.size());
+    }
+
+    @Test
+    void givenListOfEmployees_whenExportEmployees_thenStreamEveryEmployee() {
+        // given
+        employeeRepository.saveAll(List.of(
+                employee,
+                Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build()
+        )).blockLast();
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get().uri("/api/employee/export").exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class).hasSize(2);
+    }
+
+    @Test
+    void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
+        // given
+        employeeRepository.save(employee).block();
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get().uri("/api/employee/{id}", employee.getId()).exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(employee.getLastName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    void givenNonExistentEmployeeId_whenGetEmployeeById_thenReturnNotFound() {
+        // given
+        Long employeeId = 999_999_999L;
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get().uri("/api/employee/{id}", employeeId).exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenEmployeeIdAndEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
+        // given
+        employeeRepository.save(employee).block();
+        Employee updatedEmployee = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.put().uri("/api/employee/{id}", employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(updatedEmployee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(updatedEmployee.getLastName())
+                .jsonPath("$.email").isEqualTo(updatedEmployee.getEmail());
+    }
+
+    @Test
+    void givenNonExistentEmployeeIdAndEmployeeObject_whenUpdateEmployee_thenReturnNotFound() {
+        // given
+        Long employeeId = 999_999_999L;
+        Employee updatedEmployee = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.put().uri("/api/employee/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenDeletedEmployee_whenUpdateEmployee_thenCompleteEmptyRatherThanReportAStaleVersion() {
+        // given
+        Employee savedEmployee = employeeRepository.save(employee).block();
+        employeeRepository.deleteById(savedEmployee.getId()).block();
+        savedEmployee.setFirstName("Test2");
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.updateEmployee(savedEmployee))
+                .verifyComplete();
+    }
+
+    @Test
+    void givenPartialPatch_whenPatchEmployee_thenChangeOnlyThoseFieldsAndRejectTheOldVersionAfterwards() {
+        // given
+        employeeRepository.save(employee).block();
+        String patch = "{\"email\":\"test2@gmail.com\"}";
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.patch().uri("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(patch)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.email").isEqualTo("test2@gmail.com");
+        webTestClient.patch().uri("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(patch)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.patch().uri("/api/employee/{id}", 999_999_999L)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(patch)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenEmployees_whenSearchEmployees_thenReturnOnlyTheMatches() {
+        // given
+        employeeRepository.saveAll(List.of(employee,
+                Employee.builder().firstName("Other").lastName("Person").email("other@gmail.com").build())).blockLast();
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get().uri("/api/employee/search?q={q}", "TEST@gm").exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.size()").isEqualTo(1)
+                .jsonPath("$.content[0].email").isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    void givenExistingAndMissingIds_whenDeleteEmployees_thenReportHowManyWereDeleted() {
+        // given
+        employeeRepository.save(employee).block();
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.method(HttpMethod.DELETE).uri("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(employee.getId(), 999_999_999L))
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.requested").isEqualTo(2)
+                .jsonPath("$.deleted").isEqualTo(1);
+        webTestClient.get().uri("/api/employee/{id}", employee.getId()).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenEmployeeId_whenDeleteEmployee_thenReturnNoContent() {
+        // given
+        employeeRepository.save(employee).block();
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.delete().uri("/api/employee/{id}", employee.getId()).exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/api/employee/{id}", employee.getId()).exchange()
+                .expectStatus().isNotFound();
+        webTestClient.delete().uri("/api/employee/{id}", employee.getId()).exchange()
+                .expectStatus().isNotFound();
+    }
+}
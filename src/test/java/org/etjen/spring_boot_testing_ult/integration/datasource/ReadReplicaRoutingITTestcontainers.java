@@ -0,0 +1,182 @@
+package org.etjen.spring_boot_testing_ult.integration.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.etjen.spring_boot_testing_ult.datasource.ReadYourWrites;
+import org.etjen.spring_boot_testing_ult.datasource.ReadYourWritesFilter;
+import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.EmployeeService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Runs against two independent Postgres containers, the second one standing in for the replica. Nothing replicates
+ * between them, which makes routing visible: a row that only exists on the replica can only be found through it,
+ * and a row written through the application is only found while reads are pinned to the primary.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ReadReplicaRoutingITTestcontainers extends AbstractContainerBase {
+    private static final PostgreSQLContainer replicaContainer;
+    static {
+        replicaContainer = new PostgreSQLContainer("postgres:latest")
+                .withDatabaseName("tests")
+                .withUsername("postgres")
+                .withPassword("0000");
+        replicaContainer.start();
+        Flyway.configure()
+                .dataSource(replicaContainer.getJdbcUrl(), replicaContainer.getUsername(), replicaContainer.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    private final JdbcTemplate primaryJdbcTemplate = jdbcTemplate(postgresSqlContainer);
+    private final JdbcTemplate replicaJdbcTemplate = jdbcTemplate(replicaContainer);
+
+    @DynamicPropertySource
+    static void registerReplicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("employee.replica.url", replicaContainer::getJdbcUrl);
+        registry.add("employee.replica.username", replicaContainer::getUsername);
+        registry.add("employee.replica.password", replicaContainer::getPassword);
+        registry.add("employee.replica.stickiness", () -> "5s");
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReadYourWrites.clear();
+        employeeRepository.deleteAllInBatch();
+        replicaJdbcTemplate.update("DELETE FROM employees");
+    }
+
+    @Test
+    void givenEmployeeOnlyOnReplica_whenReadThroughService_thenFoundOnReplica() {
+        // given
+        replicaJdbcTemplate.update("INSERT INTO employees (id, first_name, last_name, email, version) VALUES (?, ?, ?, ?, ?)",
+                1_000_000L, "Replica", "Only", "replica@gmail.com", 0L);
+
+        // when
+        Optional<Employee> byId = employeeService.getEmployeeById(1_000_000L);
+        Optional<Employee> byEmail = employeeService.getEmployeeByEmail("replica@gmail.com");
+        Optional<Employee> byFullName = employeeService.getEmployeeByFullName("Replica", "Only");
+        List<Employee> all = employeeService.getAllEmployees();
+
+        // then
+        assertThat(byId).isPresent();
+        assertThat(byEmail).isPresent();
+        assertThat(byFullName).isPresent();
+        assertThat(all).extracting(Employee::getEmail).containsExactly("replica@gmail.com");
+    }
+
+    @Test
+    void givenWrites_whenSaveUpdateAndDelete_thenOnlyPrimaryIsWritten() {
+        // given
+        Employee savedEmployee = employeeService.saveEmployee(employee("test@gmail.com"));
+        Employee update = employee("updated@gmail.com");
+        update.setId(savedEmployee.getId());
+        update.setVersion(savedEmployee.getVersion());
+
+        // when
+        employeeService.updateEmployee(update);
+        Integer primaryRowsAfterUpdate = primaryJdbcTemplate.queryForObject("SELECT count(*) FROM employees WHERE email = 'updated@gmail.com'", Integer.class);
+        boolean deleted = employeeService.deleteEmployeeById(savedEmployee.getId());
+
+        // then
+        assertThat(primaryRowsAfterUpdate).isEqualTo(1);
+        assertThat(deleted).isTrue();
+        assertThat(primaryJdbcTemplate.queryForObject("SELECT count(*) FROM employees", Integer.class)).isZero();
+        assertThat(replicaJdbcTemplate.queryForObject("SELECT count(*) FROM employees", Integer.class)).isZero();
+    }
+
+    @Test
+    void givenSaveOnThisThread_whenReadWithinStickiness_thenReadOwnWriteFromPrimary() {
+        // given
+        Employee savedEmployee = employeeService.saveEmployee(employee("test@gmail.com"));
+
+        // when
+        Optional<Employee> pinnedRead = employeeService.getEmployeeById(savedEmployee.getId());
+        ReadYourWrites.clear();
+        Optional<Employee> unpinnedRead = employeeService.getEmployeeById(savedEmployee.getId());
+
+        // then
+        assertThat(pinnedRead).isPresent();
+        assertThat(unpinnedRead).isEmpty();
+    }
+
+    @Test
+    void givenCreateOverHttp_whenNextRequestCarriesCookie_thenReadOwnWriteFromPrimary() throws Exception {
+        // given
+        MvcResult created = mockMvc.perform(post("/api/employee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee("test@gmail.com"))))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andReturn();
+        Long id = objectMapper.readValue(created.getResponse().getContentAsString(), Employee.class).getId();
+        Cookie cookie = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        // when
+        int withCookie = mockMvc.perform(get("/api/employee/{id}", id).cookie(cookie)).andReturn().getResponse().getStatus();
+        int withoutCookie = mockMvc.perform(get("/api/employee/{id}", id)).andReturn().getResponse().getStatus();
+
+        // then
+        assertThat(withCookie).isEqualTo(200);
+        assertThat(withoutCookie).isEqualTo(404);
+    }
+
+    @Test
+    void givenReplicaBehindPrimary_whenPutWithoutIfMatch_thenUpdateCurrentVersionOnPrimary() throws Exception {
+        // given
+        String insert = "INSERT INTO employees (id, first_name, last_name, email, version) VALUES (?, ?, ?, ?, ?)";
+        primaryJdbcTemplate.update(insert, 1_000_000L, "Test", "Test", "test@gmail.com", 3L);
+        replicaJdbcTemplate.update(insert, 1_000_000L, "Test", "Test", "test@gmail.com", 2L);
+
+        // when
+        MvcResult updated = mockMvc.perform(put("/api/employee/{id}", 1_000_000L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee("updated@gmail.com"))))
+                .andReturn();
+
+        // then
+        assertThat(updated.getResponse().getStatus()).isEqualTo(200);
+        assertThat(primaryJdbcTemplate.queryForObject("SELECT version FROM employees WHERE email = 'updated@gmail.com'", Long.class)).isEqualTo(4L);
+    }
+
+    private static JdbcTemplate jdbcTemplate(PostgreSQLContainer container) {
+        return new JdbcTemplate(new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword()));
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder().firstName("Test").lastName("Test").email(email).build();
+    }
+}
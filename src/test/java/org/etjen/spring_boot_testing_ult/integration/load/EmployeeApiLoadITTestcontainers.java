@@ -0,0 +1,55 @@
+package org.etjen.spring_boot_testing_ult.integration.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
+import org.etjen.spring_boot_testing_ult.integration.load.EmployeeLoadGenerator.Operation;
+import org.etjen.spring_boot_testing_ult.integration.load.EmployeeLoadGenerator.OperationResult;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sustained mixed CRUD traffic against the whole stack, reported per operation.
+ * Rate, warmup, duration and mix can be changed with {@code -Dload.rate=2000 -Dload.duration=60s
+ * -Dload.mix=create=5,read=90,update=5}. Configurations are compared by passing their properties the same way,
+ * e.g. {@code -Dspring.profiles.active=virtual-threads}, {@code -Demployee.cache.enabled=true}
+ * or {@code -Dspring.datasource.hikari.maximum-pool-size=20}. The default 500 req/s needs more than a CI runner,
+ * so the test is tagged to run only with {@code -Pload}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EmployeeApiLoadITTestcontainers extends AbstractContainerBase {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeApiLoadITTestcontainers.class);
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void givenMixedTraffic_whenRunAtConfiguredRate_thenReportLatencyAndThroughputPerOperation() throws Exception {
+        // given
+        EmployeeLoadGenerator.Settings settings = EmployeeLoadGenerator.Settings.fromSystemProperties();
+        EmployeeLoadGenerator loadGenerator = new EmployeeLoadGenerator(URI.create("http://localhost:" + port), objectMapper, settings);
+
+        // when
+        Map<Operation, OperationResult> results = loadGenerator.run();
+
+        // then
+        log.info("{} req/s for {} after {} warmup, mix {}", settings.rate(), settings.duration(), settings.warmup(), settings.mix());
+        results.values().forEach(result -> log.info("{}", result));
+        assertThat(results.keySet()).containsExactlyInAnyOrderElementsOf(settings.mix().keySet());
+        assertThat(results.values()).allSatisfy(result -> {
+            assertThat(result.latencies().getTotalCount()).isPositive();
+            assertThat(result.errors()).isZero();
+        });
+    }
+}
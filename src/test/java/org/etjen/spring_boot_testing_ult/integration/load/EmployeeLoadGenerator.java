@@ -0,0 +1,231 @@
+package org.etjen.spring_boot_testing_ult.integration.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * Open-model load generator for {@code /api/employee}: requests are started on a fixed schedule whether or not
+ * earlier ones have finished. Latency is measured from the scheduled start, so a stalled server shows up in the
+ * percentiles instead of silently lowering the request rate. A read, update or delete scheduled while no employee
+ * exists is skipped and counted as such.
+ */
+public class EmployeeLoadGenerator {
+    public enum Operation {
+        CREATE, READ, UPDATE, DELETE
+    }
+
+    /**
+     * @param rate requests per second over all operations
+     * @param mix relative weight of each operation
+     * @param seedEmployees employees created before the run, so reads, updates and deletes have targets from the start
+     */
+    public record Settings(int rate, Duration warmup, Duration duration, Map<Operation, Integer> mix, int seedEmployees) {
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("load.rate", 500),
+                    Duration.parse("PT" + System.getProperty("load.warmup", "10s")),
+                    Duration.parse("PT" + System.getProperty("load.duration", "30s")),
+                    parseMix(System.getProperty("load.mix", "create=10,read=70,update=15,delete=5")),
+                    Integer.getInteger("load.seed", 1_000));
+        }
+
+        static Map<Operation, Integer> parseMix(String mix) {
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (String entry : mix.split(",")) {
+                String[] weight = entry.split("=");
+                weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+            }
+            return weights;
+        }
+    }
+
+    public record OperationResult(Operation operation, Histogram latencies, long errors, long skipped, Duration measured) {
+        public double throughput() {
+            return latencies.getTotalCount() / (measured.toNanos() / 1_000_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-6s %,9d req %,9.1f req/s  p50 %8.2f ms  p99 %8.2f ms  p999 %8.2f ms  max %8.2f ms  errors %,d  skipped %,d",
+                    operation, latencies.getTotalCount(), throughput(),
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()), errors, skipped);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    private final URI employeeUri;
+    private final ObjectMapper objectMapper;
+    private final Settings settings;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> skipped = new EnumMap<>(Operation.class);
+    private final EmployeeIds employeeIds = new EmployeeIds();
+    private final AtomicLong emailSequence = new AtomicLong();
+    private final Operation[] schedule;
+
+    public EmployeeLoadGenerator(URI baseUri, ObjectMapper objectMapper, Settings settings) {
+        this.employeeUri = baseUri.resolve("/api/employee");
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+        List<Operation> weighted = new ArrayList<>();
+        settings.mix().forEach((operation, weight) -> {
+            IntStream.range(0, weight).forEach(i -> weighted.add(operation));
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+            skipped.put(operation, new LongAdder());
+        });
+        this.schedule = weighted.toArray(Operation[]::new);
+    }
+
+    public Map<Operation, OperationResult> run() throws Exception {
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            seed(client);
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+            long start = System.nanoTime();
+            long measureFrom = start + settings.warmup().toNanos();
+            long end = measureFrom + settings.duration().toNanos();
+            for (long intendedStart = start; intendedStart < end; intendedStart += intervalNanos) {
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long scheduled = intendedStart;
+                Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+                requests.submit(() -> execute(client, operation, scheduled, scheduled >= measureFrom));
+            }
+            requests.shutdown();
+            requests.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        Map<Operation, OperationResult> results = new LinkedHashMap<>();
+        recorders.forEach((operation, recorder) ->
+                results.put(operation, new OperationResult(operation, recorder.getIntervalHistogram(), errors.get(operation).sum(), skipped.get(operation).sum(), settings.duration())));
+        return results;
+    }
+
+    private void seed(HttpClient client) throws Exception {
+        for (int i = 0; i < settings.seedEmployees(); i++) {
+            HttpResponse<String> response = client.send(createRequest(), HttpResponse.BodyHandlers.ofString());
+            employeeIds.add(objectMapper.readValue(response.body(), Employee.class).getId());
+        }
+    }
+
+    private void execute(HttpClient client, Operation operation, long intendedStart, boolean measured) {
+        OptionalLong target = switch (operation) {
+            case CREATE -> OptionalLong.empty();
+            case READ, UPDATE -> employeeIds.random();
+            case DELETE -> employeeIds.removeRandom();
+        };
+        if (operation != Operation.CREATE && target.isEmpty()) {
+            if (measured) {
+                skipped.get(operation).increment();
+            }
+            return;
+        }
+        try {
+            HttpRequest request = switch (operation) {
+                case CREATE -> createRequest();
+                case READ -> HttpRequest.newBuilder(employeeUri(target.getAsLong())).GET().build();
+                case UPDATE -> HttpRequest.newBuilder(employeeUri(target.getAsLong()))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(employeeJson()))
+                        .build();
+                case DELETE -> HttpRequest.newBuilder(employeeUri(target.getAsLong())).DELETE().build();
+            };
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long latency = System.nanoTime() - intendedStart;
+            // a delete can race a read or update of the same id, so a 404 there is expected traffic and not an error;
+            // the same goes for a 412 when two updates of one id race on its version
+            boolean success = response.statusCode() / 100 == 2
+                    || (response.statusCode() == 404 && operation != Operation.CREATE)
+                    || (response.statusCode() == 412 && operation == Operation.UPDATE);
+            if (success && operation == Operation.CREATE) {
+                employeeIds.add(objectMapper.readValue(response.body(), Employee.class).getId());
+            }
+            if (!measured) {
+                return;
+            }
+            if (success) {
+                recorders.get(operation).recordValue(latency);
+            } else {
+                errors.get(operation).increment();
+            }
+        } catch (Exception e) {
+            if (measured) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    private URI employeeUri(long id) {
+        return URI.create(employeeUri + "/" + id);
+    }
+
+    private HttpRequest createRequest() {
+        return HttpRequest.newBuilder(employeeUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(employeeJson()))
+                .build();
+    }
+
+    private String employeeJson() {
+        long n = emailSequence.incrementAndGet();
+        return "{\"firstName\":\"Load" + n + "\",\"lastName\":\"Test\",\"email\":\"load" + n + "@gmail.com\"}";
+    }
+
+    /**
+     * Ids created so far, with random access for reads and updates and swap-removal for deletes. Both are empty
+     * once deletes have outpaced creates.
+     */
+    private static class EmployeeIds {
+        private final List<Long> ids = new ArrayList<>();
+
+        synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        synchronized OptionalLong random() {
+            if (ids.isEmpty()) {
+                return OptionalLong.empty();
+            }
+            return OptionalLong.of(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+        }
+
+        synchronized OptionalLong removeRandom() {
+            if (ids.isEmpty()) {
+                return OptionalLong.empty();
+            }
+            int index = ThreadLocalRandom.current().nextInt(ids.size());
+            long id = ids.get(index);
+            ids.set(index, ids.getLast());
+            ids.removeLast();
+            return OptionalLong.of(id);
+        }
+    }
+}
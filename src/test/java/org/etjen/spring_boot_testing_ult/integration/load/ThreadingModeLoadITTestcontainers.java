@@ -0,0 +1,125 @@
+package org.etjen.spring_boot_testing_ult.integration.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.etjen.spring_boot_testing_ult.SpringBootTestingUltApplication;
+import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the same read load against the application on platform threads and on virtual threads.
+ * Clients and requests per client can be changed with {@code -Dload.clients} and {@code -Dload.requests}. Every
+ * request has to succeed; a p99 bound depends on the machine, so it's only checked when
+ * {@code -Dload.max-p99-millis} is set.
+ */
+public class ThreadingModeLoadITTestcontainers extends AbstractContainerBase {
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeLoadITTestcontainers.class);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 1_000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requests", 20);
+    private static final long MAX_P99_MILLIS = Long.getLong("load.max-p99-millis", Long.MAX_VALUE);
+
+    @Test
+    void givenConcurrentClients_whenPlatformAndVirtualThreads_thenServeEveryRequest() throws Exception {
+        // given
+        String[] profiles = {"default", "virtual-threads"};
+
+        // when
+        List<LoadReport> reports = new ArrayList<>();
+        for (String profile : profiles) {
+            reports.add(run(profile));
+        }
+
+        // then
+        reports.forEach(report -> log.info("{}", report));
+        assertThat(reports).allSatisfy(report -> {
+            assertThat(report.errors()).as("%s errors", report.profile()).isZero();
+            assertThat(report.p99Millis()).as("%s p99", report.profile()).isLessThanOrEqualTo(MAX_P99_MILLIS);
+        });
+    }
+
+    private LoadReport run(String profile) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootTestingUltApplication.class)
+                .profiles(profile)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + postgresSqlContainer.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgresSqlContainer.getUsername(),
+                        "--spring.datasource.password=" + postgresSqlContainer.getPassword());
+             HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI employeeUri = createEmployee(client, port, profile);
+
+            Recorder recorder = new Recorder(3);
+            LongAdder errors = new LongAdder();
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            long start = System.nanoTime();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        long requestStart = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(employeeUri).GET().build(), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                            }
+                        } catch (IOException e) {
+                            errors.increment();
+                        }
+                        recorder.recordValue(System.nanoTime() - requestStart);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            Histogram latencies = recorder.getIntervalHistogram();
+            return new LoadReport(profile,
+                    latencies.getTotalCount(),
+                    errors.sum(),
+                    latencies.getTotalCount() * 1_000_000_000.0 / elapsed,
+                    latencies.getValueAtPercentile(50) / 1_000_000.0,
+                    latencies.getValueAtPercentile(99) / 1_000_000.0);
+        }
+    }
+
+    private static URI createEmployee(HttpClient client, int port, String profile) throws Exception {
+        // the container is shared by every test class, so the email must not collide with rows left behind
+        String body = "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"load-" + profile + "-" + System.nanoTime() + "@gmail.com\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employee"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(201);
+        String id = response.body().replaceAll(".*\"id\":(\\d+).*", "$1");
+        return URI.create("http://localhost:" + port + "/api/employee/" + id);
+    }
+
+    private record LoadReport(String profile, long requests, long errors, double requestsPerSecond, double p50Millis, double p99Millis) {
+        @Override
+        public String toString() {
+            return String.format("%s: %,d clients, %,d requests, %,d errors, %,.0f req/s, p50 %.1f ms, p99 %.1f ms",
+                    profile, CLIENTS, requests, errors, requestsPerSecond, p50Millis, p99Millis);
+        }
+    }
+}
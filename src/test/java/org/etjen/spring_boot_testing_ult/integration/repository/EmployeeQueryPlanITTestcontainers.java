@@ -0,0 +1,109 @@
+package org.etjen.spring_boot_testing_ult.integration.repository;
+
+import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails when a lookup query stops using an index on a seeded and analyzed table.
+ * Native queries are read from the repository annotations so the plans follow the code.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class EmployeeQueryPlanITTestcontainers extends AbstractContainerBase {
+    private static final int ROWS = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM employees");
+        jdbcTemplate.update("""
+                INSERT INTO employees (id, first_name, last_name, email)
+                SELECT nextval('employees_seq'), 'First' || i, 'Last' || i, 'employee' || i || '@gmail.com'
+                FROM generate_series(1, ?) AS i
+                """, ROWS);
+        // VACUUM as well: GIN keeps fresh rows in its pending list and only refreshes its statistics on vacuum,
+        // and until then the planner prices the trigram index above a scan of the whole table
+        jdbcTemplate.execute("VACUUM ANALYZE employees");
+    }
+
+    @Test
+    void givenSeededTable_whenExplainFindByEmail_thenUseIndex() {
+        // given
+        String sql = "SELECT * FROM employees WHERE email = ?";
+
+        // when
+        String plan = explain(sql, "employee42@gmail.com");
+
+        // then
+        assertThat(plan).doesNotContain("Seq Scan").contains("uk_employees_email");
+    }
+
+    @Test
+    void givenSeededTable_whenExplainFindByFullName_thenUseIndex() throws Exception {
+        // given
+        String sql = nativeQuery("findByFullName", String.class, String.class);
+
+        // when
+        String plan = explain(sql, "First42", "Last42");
+
+        // then
+        assertThat(plan).doesNotContain("Seq Scan").contains("idx_employees_last_name_first_name");
+    }
+
+    @Test
+    void givenSeededTable_whenExplainFindExistingEmails_thenUseIndex() throws Exception {
+        // given
+        String sql = nativeQuery("findExistingEmails", String[].class);
+
+        // when
+        String plan = explain(sql, (Object) new String[]{"employee1@gmail.com", "employee2@gmail.com"});
+
+        // then
+        assertThat(plan).doesNotContain("Seq Scan").contains("uk_employees_email");
+    }
+
+    @Test
+    void givenSeededTable_whenExplainFindPageAfter_thenUseIndex() throws Exception {
+        // given
+        String sql = nativeQuery("findPageAfter", Long.class, int.class);
+
+        // when
+        String plan = explain(sql, 5_000L, 50);
+
+        // then
+        assertThat(plan).doesNotContain("Seq Scan").contains("employees_pkey");
+    }
+
+    @Test
+    void givenSeededTable_whenExplainSearchPageAfter_thenUseTrigramIndex() throws Exception {
+        // given
+        String sql = nativeQuery("searchPageAfter", String.class, Long.class, int.class);
+
+        // when
+        String plan = explain(sql, "%employee4242@%", 0L, 21);
+
+        // then
+        assertThat(plan).doesNotContain("Seq Scan").contains("idx_employees_search_trgm");
+    }
+
+    private String explain(String sql, Object... params) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, params);
+        return String.join("\n", plan);
+    }
+
+    private static String nativeQuery(String methodName, Class<?>... parameterTypes) throws NoSuchMethodException {
+        String sql = EmployeeRepository.class.getMethod(methodName, parameterTypes).getAnnotation(NativeQuery.class).value();
+        return sql.replaceAll(":\\w+", "?");
+    }
+}
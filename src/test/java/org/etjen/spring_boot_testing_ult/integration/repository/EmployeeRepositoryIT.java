@@ -1,6 +1,7 @@
 package org.etjen.spring_boot_testing_ult.integration.repository;
 
 import jakarta.persistence.EntityManager;
+import org.etjen.spring_boot_testing_ult.config.JpaRepositoryConfig;
 import org.etjen.spring_boot_testing_ult.model.Employee;
 import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,13 +9,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
+@Import(JpaRepositoryConfig.class)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public class EmployeeRepositoryIT {
     @Autowired
@@ -26,7 +31,8 @@ public class EmployeeRepositoryIT {
 
     @BeforeEach
     void setUp() {
-        employeeRepository.deleteAll();
+        // deleted in place: Hibernate flushes deletes after inserts, so leftover rows would trip the unique email
+        employeeRepository.deleteAllInBatch();
         employee = Employee.builder().firstName("Test").lastName("Test").email("test@gmail.com").build();
     }
 
@@ -44,6 +50,19 @@ public class EmployeeRepositoryIT {
         assertThat(savedEmployee.get().getId()).isPositive();
     }
 
+    @Test
+    void givenExistingEmail_whenSave_thenThrowDataIntegrityViolation() {
+        // given
+        employeeRepository.saveAndFlush(employee);
+        entityManager.clear();
+        Employee duplicate = Employee.builder().firstName("Test2").lastName("Test2").email(employee.getEmail()).build();
+
+        // when
+
+        // then
+        assertThrows(DataIntegrityViolationException.class, () -> employeeRepository.saveAndFlush(duplicate));
+    }
+
     @Test
     void givenEmployeeList_whenFindAll_thenReturnEmployeeList() {
         // given
@@ -60,6 +79,22 @@ public class EmployeeRepositoryIT {
         assertThat(employeeList.size()).isEqualTo(3);
     }
 
+    @Test
+    void givenEmployeeList_whenFindPageAfter_thenReturnNextEmployeesOrderedById() {
+        // given
+        Employee employee2 = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        Employee employee3 = Employee.builder().firstName("Test3").lastName("Test3").email("test3@gmail.com").build();
+        employeeRepository.saveAllAndFlush(List.of(employee, employee2, employee3));
+        entityManager.clear();
+
+        // when
+        List<Employee> employeeList = employeeRepository.findPageAfter(employee.getId(), 1);
+
+        // then
+        assertThat(employeeList.size()).isEqualTo(1);
+        assertThat(employeeList.get(0).getId()).isEqualTo(employee2.getId());
+    }
+
     @Test
     void givenEmployeeObject_whenFindById_thenReturnSavedEmployee() {
         // given
@@ -88,6 +123,20 @@ public class EmployeeRepositoryIT {
         assertThat(dbEmployee.get().getId()).isEqualTo(savedEmployee.getId());
     }
 
+    @Test
+    void givenEmployeeList_whenFindExistingEmails_thenReturnOnlyStoredEmails() {
+        // given
+        Employee employee2 = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        employeeRepository.saveAllAndFlush(List.of(employee, employee2));
+        entityManager.clear();
+
+        // when
+        List<String> existingEmails = employeeRepository.findExistingEmails(new String[]{"test2@gmail.com", "new@gmail.com"});
+
+        // then
+        assertThat(existingEmails).containsExactly("test2@gmail.com");
+    }
+
     @Test
     void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
         // given
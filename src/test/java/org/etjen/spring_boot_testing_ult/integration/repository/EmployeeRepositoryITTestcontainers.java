@@ -1,21 +1,29 @@
 package org.etjen.spring_boot_testing_ult.integration.repository;
 
 import jakarta.persistence.EntityManager;
+import org.etjen.spring_boot_testing_ult.config.JpaRepositoryConfig;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
 import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
 import org.etjen.spring_boot_testing_ult.model.Employee;
 import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
+@Import(JpaRepositoryConfig.class)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public class EmployeeRepositoryITTestcontainers extends AbstractContainerBase {
     @Autowired
@@ -27,7 +35,8 @@ public class EmployeeRepositoryITTestcontainers extends AbstractContainerBase {
 
     @BeforeEach
     void setUp() {
-        employeeRepository.deleteAll();
+        // deleted in place: Hibernate flushes deletes after inserts, so leftover rows would trip the unique email
+        employeeRepository.deleteAllInBatch();
         employee = Employee.builder().firstName("Test").lastName("Test").email("test@gmail.com").build();
     }
 
@@ -45,6 +54,19 @@ public class EmployeeRepositoryITTestcontainers extends AbstractContainerBase {
         assertThat(savedEmployee.get().getId()).isPositive();
     }
 
+    @Test
+    void givenExistingEmail_whenSave_thenThrowDataIntegrityViolation() {
+        // given
+        employeeRepository.saveAndFlush(employee);
+        entityManager.clear();
+        Employee duplicate = Employee.builder().firstName("Test2").lastName("Test2").email(employee.getEmail()).build();
+
+        // when
+
+        // then
+        assertThrows(DataIntegrityViolationException.class, () -> employeeRepository.saveAndFlush(duplicate));
+    }
+
     @Test
     void givenEmployeeList_whenFindAll_thenReturnEmployeeList() {
         // given
@@ -61,6 +83,22 @@ public class EmployeeRepositoryITTestcontainers extends AbstractContainerBase {
         assertThat(employeeList.size()).isEqualTo(3);
     }
 
+    @Test
+    void givenEmployeeList_whenFindPageAfter_thenReturnNextEmployeesOrderedById() {
+        // given
+        Employee employee2 = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        Employee employee3 = Employee.builder().firstName("Test3").lastName("Test3").email("test3@gmail.com").build();
+        employeeRepository.saveAllAndFlush(List.of(employee, employee2, employee3));
+        entityManager.clear();
+
+        // when
+        List<Employee> employeeList = employeeRepository.findPageAfter(employee.getId(), 1);
+
+        // then
+        assertThat(employeeList.size()).isEqualTo(1);
+        assertThat(employeeList.get(0).getId()).isEqualTo(employee2.getId());
+    }
+
     @Test
     void givenEmployeeObject_whenFindById_thenReturnSavedEmployee() {
         // given
@@ -89,6 +127,20 @@ public class EmployeeRepositoryITTestcontainers extends AbstractContainerBase {
         assertThat(dbEmployee.get().getId()).isEqualTo(savedEmployee.getId());
     }
 
+    @Test
+    void givenEmployeeList_whenFindExistingEmails_thenReturnOnlyStoredEmails() {
+        // given
+        Employee employee2 = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        employeeRepository.saveAllAndFlush(List.of(employee, employee2));
+        entityManager.clear();
+
+        // when
+        List<String> existingEmails = employeeRepository.findExistingEmails(new String[]{"test2@gmail.com", "new@gmail.com"});
+
+        // then
+        assertThat(existingEmails).containsExactly("test2@gmail.com");
+    }
+
     @Test
     void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
         // given
@@ -143,4 +195,102 @@ public class EmployeeRepositoryITTestcontainers extends AbstractContainerBase {
         assertThat(dbEmployee.get().getLastName()).isEqualTo(savedEmployee.getLastName());
         assertThat(employeeRepository.findByFullName("Nope", "Nobody")).isEmpty();
     }
+
+    @Test
+    void givenEmployeeObjectAndPatch_whenPatch_thenUpdateOnlySuppliedFields() {
+        // given
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        entityManager.clear();
+
+        // when
+        Optional<Employee> patchedEmployee = employeeRepository.patch(savedEmployee.getId(), new EmployeePatch(null, null, "patched@gmail.com"), null);
+        entityManager.clear();
+
+        // then
+        assertThat(patchedEmployee).isPresent();
+        assertThat(patchedEmployee.get().getEmail()).isEqualTo("patched@gmail.com");
+        assertThat(patchedEmployee.get().getFirstName()).isEqualTo(savedEmployee.getFirstName());
+        Employee dbEmployee = employeeRepository.findById(savedEmployee.getId()).get();
+        assertThat(dbEmployee.getEmail()).isEqualTo("patched@gmail.com");
+        assertThat(dbEmployee.getLastName()).isEqualTo(savedEmployee.getLastName());
+        assertThat(employeeRepository.patch(savedEmployee.getId() + 1000, new EmployeePatch("Nope", null, null), null)).isEmpty();
+    }
+
+    @Test
+    void givenStaleVersion_whenPatch_thenThrowAndLeaveRowUnchanged() {
+        // given
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        Long readVersion = savedEmployee.getVersion();
+        employeeRepository.patch(savedEmployee.getId(), new EmployeePatch("Test2", null, null), readVersion);
+        entityManager.clear();
+
+        // when
+
+        // then
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> employeeRepository.patch(savedEmployee.getId(), new EmployeePatch("Test3", null, null), readVersion));
+        entityManager.clear();
+        Employee dbEmployee = employeeRepository.findById(savedEmployee.getId()).get();
+        assertThat(dbEmployee.getFirstName()).isEqualTo("Test2");
+        assertThat(dbEmployee.getVersion()).isEqualTo(readVersion + 1);
+    }
+
+    @Test
+    void givenEmployeeList_whenRemoveAllById_thenDeleteOnlyThoseAndReturnCount() {
+        // given
+        Employee employee2 = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        Employee employee3 = Employee.builder().firstName("Test3").lastName("Test3").email("test3@gmail.com").build();
+        employeeRepository.saveAllAndFlush(List.of(employee, employee2, employee3));
+        entityManager.clear();
+
+        // when
+        int deleted = employeeRepository.removeAllById(new Long[]{employee.getId(), employee2.getId(), 999_999_999L});
+
+        // then
+        assertThat(deleted).isEqualTo(2);
+        assertThat(employeeRepository.findAll()).extracting(Employee::getId).containsExactly(employee3.getId());
+        assertThat(employeeRepository.removeById(employee3.getId())).isEqualTo(1);
+        assertThat(employeeRepository.removeById(employee3.getId())).isZero();
+    }
+
+    @Test
+    void givenEmployeeList_whenSearchPageAfter_thenMatchSubstringOfAnyFieldIgnoringCase() {
+        // given
+        Employee employee2 = Employee.builder().firstName("Ann").lastName("Smithers").email("ann@example.com").build();
+        Employee employee3 = Employee.builder().firstName("Bob").lastName("Jones").email("bob.smith@example.com").build();
+        employeeRepository.saveAllAndFlush(List.of(employee, employee2, employee3));
+        entityManager.clear();
+
+        // when
+        List<Employee> matches = employeeRepository.searchPageAfter("%smith%", 0L, 10);
+
+        // then
+        assertThat(matches).extracting(Employee::getId).containsExactly(employee2.getId(), employee3.getId());
+        assertThat(employeeRepository.searchPageAfter("%ann smi%", 0L, 10)).extracting(Employee::getId).containsExactly(employee2.getId());
+        assertThat(employeeRepository.searchPageAfter("%smith%", employee2.getId(), 10)).extracting(Employee::getId).containsExactly(employee3.getId());
+    }
+
+    @Test
+    void givenSavedEmployee_whenLoadedThroughFinders_thenQueryResultsAreReadOnly() {
+        // given
+        employeeRepository.saveAndFlush(employee);
+        entityManager.clear();
+        Session session = entityManager.unwrap(Session.class);
+
+        // when
+        Employee byId = employeeRepository.findById(employee.getId()).orElseThrow();
+        boolean byIdReadOnly = session.isReadOnly(byId);
+        entityManager.clear();
+        Employee byEmail = employeeRepository.findByEmail(employee.getEmail()).orElseThrow();
+        boolean byEmailReadOnly = session.isReadOnly(byEmail);
+        entityManager.clear();
+        Employee fromAll = employeeRepository.findAll().getFirst();
+        boolean fromAllReadOnly = session.isReadOnly(fromAll);
+
+        // then
+        // findById stays managed, since PUT merges its changes onto the entity it read
+        assertThat(byIdReadOnly).isFalse();
+        assertThat(byEmailReadOnly).isTrue();
+        assertThat(fromAllReadOnly).isTrue();
+    }
 }
@@ -0,0 +1,137 @@
+package org.etjen.spring_boot_testing_ult.integration.service;
+
+import org.etjen.spring_boot_testing_ult.SpringBootTestingUltApplication;
+import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.EmployeeService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_ID;
+
+/**
+ * Starts two application contexts against the same database, standing in for two replicas behind a load balancer,
+ * each with its own employee caches. Writes go through one node and the other node's cached reads have to
+ * reflect them within {@link #MAX_PROPAGATION_DELAY}.
+ */
+public class EmployeeCacheInvalidationITTestcontainers extends AbstractContainerBase {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeCacheInvalidationITTestcontainers.class);
+    private static final Duration MAX_PROPAGATION_DELAY = Duration.ofSeconds(2);
+
+    private static ConfigurableApplicationContext writer;
+    private static ConfigurableApplicationContext reader;
+
+    @BeforeAll
+    static void startNodes() {
+        writer = startNode();
+        reader = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        reader.close();
+        writer.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        writer.getBean(EmployeeRepository.class).deleteAll();
+        for (ConfigurableApplicationContext node : new ConfigurableApplicationContext[]{writer, reader}) {
+            CacheManager cacheManager = node.getBean(CacheManager.class);
+            cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        }
+    }
+
+    @Test
+    void givenEmployeeCachedOnOtherNode_whenUpdateEmployee_thenOtherNodeReadsTheUpdateWithinBoundedDelay() throws Exception {
+        // given
+        Employee savedEmployee = service(writer).saveEmployee(employee("test@gmail.com"));
+        service(reader).getEmployeeById(savedEmployee.getId());
+        assertThat(reader.getBean(CacheManager.class).getCache(EMPLOYEES_BY_ID).get(savedEmployee.getId())).isNotNull();
+        Employee update = employee("updated@gmail.com");
+        update.setId(savedEmployee.getId());
+        update.setVersion(savedEmployee.getVersion());
+
+        // when
+        long start = System.nanoTime();
+        service(writer).updateEmployee(update);
+        Duration delay = awaitPropagation(() -> service(reader).getEmployeeById(savedEmployee.getId())
+                .map(employee -> employee.getEmail().equals("updated@gmail.com"))
+                .orElse(false), start);
+
+        // then
+        log.info("update reached the other node's cache after {} ms", delay.toMillis());
+        assertThat(delay).isLessThanOrEqualTo(MAX_PROPAGATION_DELAY);
+        assertThat(service(reader).getEmployeeByEmail("updated@gmail.com")).isPresent();
+    }
+
+    @Test
+    void givenEmployeeCachedOnOtherNode_whenDeleteEmployeeById_thenOtherNodeMissesWithinBoundedDelay() throws Exception {
+        // given
+        Employee savedEmployee = service(writer).saveEmployee(employee("test@gmail.com"));
+        service(reader).getEmployeeByEmail("test@gmail.com");
+
+        // when
+        long start = System.nanoTime();
+        service(writer).deleteEmployeeById(savedEmployee.getId());
+        Duration delay = awaitPropagation(() -> service(reader).getEmployeeByEmail("test@gmail.com").isEmpty(), start);
+
+        // then
+        assertThat(delay).isLessThanOrEqualTo(MAX_PROPAGATION_DELAY);
+    }
+
+    @Test
+    void givenMissCachedOnOtherNode_whenSaveEmployee_thenOtherNodeFindsItWithinBoundedDelay() throws Exception {
+        // given
+        assertThat(service(reader).getEmployeeByEmail("test@gmail.com")).isEmpty();
+
+        // when
+        long start = System.nanoTime();
+        service(writer).saveEmployee(employee("test@gmail.com"));
+        Duration delay = awaitPropagation(() -> service(reader).getEmployeeByEmail("test@gmail.com").isPresent(), start);
+
+        // then
+        assertThat(delay).isLessThanOrEqualTo(MAX_PROPAGATION_DELAY);
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(SpringBootTestingUltApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgresSqlContainer.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgresSqlContainer.getUsername(),
+                        "--spring.datasource.password=" + postgresSqlContainer.getPassword(),
+                        "--employee.cache.enabled=true",
+                        "--employee.change-relay.enabled=true",
+                        "--employee.change-relay.batch-window=20ms");
+    }
+
+    private static EmployeeService service(ConfigurableApplicationContext node) {
+        return node.getBean(EmployeeService.class);
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder().firstName("Test").lastName("Test").email(email).build();
+    }
+
+    // polls past the bound, so a slow propagation shows up as a measured delay rather than a timeout
+    private static Duration awaitPropagation(BooleanSupplier propagated, long start) throws InterruptedException {
+        long deadline = start + MAX_PROPAGATION_DELAY.multipliedBy(5).toNanos();
+        while (!propagated.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
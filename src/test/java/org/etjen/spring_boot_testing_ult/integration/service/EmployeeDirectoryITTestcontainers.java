@@ -0,0 +1,119 @@
+package org.etjen.spring_boot_testing_ult.integration.service;
+
+import org.etjen.spring_boot_testing_ult.directory.EmployeeDirectory;
+import org.etjen.spring_boot_testing_ult.event.EmployeeChangeRelay;
+import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+// a small pool that runs dry quickly, for the test holding all but one of its connections
+@TestPropertySource(properties = {"employee.directory.enabled=true", "employee.change-relay.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=2", "spring.datasource.hikari.connection-timeout=2000"})
+public class EmployeeDirectoryITTestcontainers extends AbstractContainerBase {
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeDirectory employeeDirectory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        // the repository bypasses the service, so nothing told the directory
+        employeeDirectory.load();
+    }
+
+    @Test
+    void givenEmployeeSavedThroughService_whenGetEmployeeByEmail_thenAnswerFromDirectory() {
+        // given
+        Employee savedEmployee = employeeService.saveEmployee(Employee.builder().firstName("Test").lastName("Test").email("test@gmail.com").build());
+
+        // when
+        Optional<Employee> foundEmployee = employeeService.getEmployeeByEmail("test@gmail.com");
+
+        // then
+        assertThat(employeeDirectory.isReady()).isTrue();
+        assertThat(foundEmployee).isPresent();
+        assertThat(foundEmployee.get().getId()).isEqualTo(savedEmployee.getId());
+        assertThat(foundEmployee.get()).isSameAs(employeeDirectory.findById(savedEmployee.getId()).orElseThrow());
+    }
+
+    @Test
+    void givenBatchSavedWithTheLastPooledConnection_whenGetEmployeeByEmail_thenDirectoryHasItWithoutASecondConnection() throws Exception {
+        // given
+        List<Employee> employees = List.of(Employee.builder().firstName("First").lastName("Test").email("first@gmail.com").build(),
+                Employee.builder().firstName("Second").lastName("Test").email("second@gmail.com").build());
+
+        // when
+        List<Employee> savedEmployees;
+        try (Connection held = dataSource.getConnection()) {
+            // the directory is told after the commit, while the batch's transaction still holds the other connection
+            savedEmployees = employeeService.saveEmployees(employees);
+        }
+
+        // then
+        assertThat(employeeService.getEmployeeByEmail("second@gmail.com")).get()
+                .extracting(Employee::getId).isEqualTo(savedEmployees.get(1).getId());
+        assertThat(employeeDirectory.findByFullName("First", "Test")).isPresent();
+    }
+
+    @Test
+    void givenEmployeeDeletedThroughService_whenGetEmployeeById_thenReturnEmpty() {
+        // given
+        Employee savedEmployee = employeeService.saveEmployee(Employee.builder().firstName("Test").lastName("Test").email("test@gmail.com").build());
+
+        // when
+        employeeService.deleteEmployeeById(savedEmployee.getId());
+
+        // then
+        assertThat(employeeService.getEmployeeById(savedEmployee.getId())).isEmpty();
+        assertThat(employeeService.getEmployeeByFullName("Test", "Test")).isEmpty();
+    }
+
+    @Test
+    void givenEmployeeChangedByAnotherNode_whenNotified_thenDirectoryPicksUpTheChange() throws Exception {
+        // given
+        Employee savedEmployee = employeeService.saveEmployee(Employee.builder().firstName("Test").lastName("Test").email("test@gmail.com").build());
+
+        // when
+        jdbcTemplate.update("UPDATE employees SET email = 'moved@gmail.com', version = version + 1 WHERE id = ?", savedEmployee.getId());
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", EmployeeChangeRelay.CHANNEL, "other-node:" + savedEmployee.getId());
+
+        // then
+        assertThat(await(() -> employeeService.getEmployeeByEmail("moved@gmail.com").isPresent())).isTrue();
+        assertThat(employeeService.getEmployeeByEmail("test@gmail.com")).isEmpty();
+    }
+
+    private static boolean await(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.get()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(20);
+        }
+        return true;
+    }
+}
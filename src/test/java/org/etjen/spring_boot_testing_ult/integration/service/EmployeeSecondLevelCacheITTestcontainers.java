@@ -0,0 +1,89 @@
+package org.etjen.spring_boot_testing_ult.integration.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.etjen.spring_boot_testing_ult.integration.AbstractContainerBase;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.EmployeeService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("l2cache")
+public class EmployeeSecondLevelCacheITTestcontainers extends AbstractContainerBase {
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+        employee = Employee.builder().firstName("Test").lastName("Test").email("test@gmail.com").build();
+    }
+
+    @Test
+    void givenCachedEmployee_whenGetEmployeeById_thenServeFromCache() {
+        // given
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        employeeService.getEmployeeById(savedEmployee.getId());
+
+        // when
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeById(savedEmployee.getId());
+
+        // then
+        assertThat(cachedEmployee).isPresent();
+        assertThat(entityManagerFactory.getCache().contains(Employee.class, savedEmployee.getId())).isTrue();
+        assertThat(regionStatistics().getHitCount()).isPositive();
+    }
+
+    @Test
+    void givenCachedEmployee_whenUpdateEmployee_thenCachedReadReturnsFreshData() {
+        // given
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        Employee cachedEmployee = employeeService.getEmployeeById(savedEmployee.getId()).orElseThrow();
+
+        // when
+        cachedEmployee.setEmail("updated@gmail.com");
+        employeeService.updateEmployee(cachedEmployee);
+        long hitsBeforeRead = regionStatistics().getHitCount();
+        Optional<Employee> updatedEmployee = employeeService.getEmployeeById(savedEmployee.getId());
+
+        // then
+        assertThat(updatedEmployee).isPresent();
+        assertThat(updatedEmployee.get().getEmail()).isEqualTo("updated@gmail.com");
+        assertThat(regionStatistics().getHitCount()).isGreaterThan(hitsBeforeRead);
+    }
+
+    @Test
+    void givenCachedEmployee_whenDeleteEmployeeById_thenEvictFromCache() {
+        // given
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        employeeService.getEmployeeById(savedEmployee.getId());
+
+        // when
+        employeeService.deleteEmployeeById(savedEmployee.getId());
+
+        // then
+        assertThat(entityManagerFactory.getCache().contains(Employee.class, savedEmployee.getId())).isFalse();
+        assertThat(employeeService.getEmployeeById(savedEmployee.getId())).isEmpty();
+    }
+
+    private CacheRegionStatistics regionStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getCacheRegionStatistics("employees");
+    }
+}
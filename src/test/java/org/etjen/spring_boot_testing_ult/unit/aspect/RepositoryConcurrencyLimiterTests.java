@@ -0,0 +1,85 @@
+package org.etjen.spring_boot_testing_ult.unit.aspect;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.etjen.spring_boot_testing_ult.aspect.RepositoryConcurrencyLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class RepositoryConcurrencyLimiterTests {
+    @Mock
+    private ProceedingJoinPoint outerJoinPoint;
+    @Mock
+    private ProceedingJoinPoint innerJoinPoint;
+    @Mock
+    private Signature signature;
+    private RepositoryConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new RepositoryConcurrencyLimiter(1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void givenNestedCallOnSameThread_whenLimit_thenTakeOnlyOnePermit() throws Throwable {
+        // given
+        given(innerJoinPoint.proceed()).willReturn("inner");
+        given(outerJoinPoint.proceed()).willAnswer(invocationOnMock -> limiter.limit(innerJoinPoint));
+
+        // when
+        Object result = limiter.limit(outerJoinPoint);
+
+        // then
+        assertThat(result).isEqualTo("inner");
+        // the only permit was released, or this would time out
+        assertThat(limiter.limit(innerJoinPoint)).isEqualTo("inner");
+    }
+
+    @Test
+    void givenAllPermitsTaken_whenLimit_thenThrowAfterAcquireTimeout() throws Throwable {
+        // given
+        CountDownLatch permitTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(outerJoinPoint.proceed()).willAnswer(invocationOnMock -> {
+            permitTaken.countDown();
+            release.await();
+            return null;
+        });
+        given(innerJoinPoint.getSignature()).willReturn(signature);
+        given(signature.toShortString()).willReturn("EmployeeRepository.findById(..)");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Object> holder = executor.submit(() -> {
+            try {
+                return limiter.limit(outerJoinPoint);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        permitTaken.await();
+
+        // when
+
+        // then
+        assertThrows(TransientDataAccessResourceException.class, () -> limiter.limit(innerJoinPoint));
+        release.countDown();
+        holder.get();
+        executor.shutdown();
+        given(innerJoinPoint.proceed()).willReturn("inner");
+        assertThat(limiter.limit(innerJoinPoint)).isEqualTo("inner");
+    }
+}
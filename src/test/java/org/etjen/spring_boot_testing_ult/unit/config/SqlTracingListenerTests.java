@@ -0,0 +1,117 @@
+package org.etjen.spring_boot_testing_ult.unit.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.etjen.spring_boot_testing_ult.config.SqlTracingConfig;
+import org.etjen.spring_boot_testing_ult.config.SqlTracingConfig.SqlTracingListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlTracingListenerTests {
+    private final Logger sqlLogger = (Logger) LoggerFactory.getLogger(SqlTracingConfig.SQL_LOGGER);
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        appender = new ListAppender<>();
+        appender.start();
+        sqlLogger.addAppender(appender);
+        sqlLogger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlLogger.detachAppender(appender);
+    }
+
+    @Test
+    void givenFastStatementAndZeroSampleRate_whenAfterQuery_thenLogNothing() {
+        // given
+        SqlTracingListener listener = new SqlTracingListener(0, Duration.ofMillis(200));
+
+        // when
+        listener.afterQuery(execution(5, 1), List.of(query("UPDATE employees SET email = ? WHERE id = ?", 2)));
+
+        // then
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void givenFastStatementAndFullSampleRate_whenAfterQuery_thenLogSampledStatementAtInfo() {
+        // given
+        SqlTracingListener listener = new SqlTracingListener(1, Duration.ofMillis(200));
+
+        // when
+        listener.afterQuery(execution(5, 1), List.of(query("UPDATE employees SET email = ? WHERE id = ?", 2)));
+
+        // then
+        assertThat(appender.list).hasSize(1);
+        ILoggingEvent event = appender.list.getFirst();
+        assertThat(event.getLevel()).isEqualTo(Level.INFO);
+        assertThat(keyValues(event))
+                .containsEntry("sql", "UPDATE employees SET email = ? WHERE id = ?")
+                .containsEntry("binds", 2)
+                .containsEntry("durationMs", 5L)
+                .containsEntry("rows", 1);
+    }
+
+    @Test
+    void givenSlowStatementAndZeroSampleRate_whenAfterQuery_thenLogAtWarn() {
+        // given
+        SqlTracingListener listener = new SqlTracingListener(0, Duration.ofMillis(200));
+        ExecutionInfo execution = execution(250, new int[]{1, 1, 1});
+        execution.setBatch(true);
+        execution.setBatchSize(3);
+
+        // when
+        listener.afterQuery(execution, List.of(query("INSERT INTO employees VALUES (?, ?, ?, ?)", 4)));
+
+        // then
+        assertThat(appender.list).hasSize(1);
+        ILoggingEvent event = appender.list.getFirst();
+        assertThat(event.getLevel()).isEqualTo(Level.WARN);
+        assertThat(keyValues(event))
+                .containsEntry("batchSize", 3)
+                .containsEntry("rows", 3);
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis, Object result) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMillis);
+        execution.setResult(result);
+        execution.setSuccess(true);
+        return execution;
+    }
+
+    private static QueryInfo query(String sql, int binds) {
+        QueryInfo queryInfo = new QueryInfo(sql);
+        try {
+            ParameterSetOperation bind = new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class), new Object[]{1, 1L});
+            queryInfo.setParametersList(List.of(Collections.nCopies(binds, bind)));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+        return queryInfo;
+    }
+
+    private static Map<String, Object> keyValues(ILoggingEvent event) {
+        return event.getKeyValuePairs().stream().filter(pair -> pair.value != null)
+                .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+    }
+}
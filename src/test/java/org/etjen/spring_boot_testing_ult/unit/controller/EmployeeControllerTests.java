@@ -1,6 +1,13 @@
 package org.etjen.spring_boot_testing_ult.unit.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.etjen.spring_boot_testing_ult.controller.EmployeeController;
+import org.etjen.spring_boot_testing_ult.dto.BulkDeleteResult;
+import org.etjen.spring_boot_testing_ult.dto.EmployeeCursor;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePage;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.exception.EmployeeAlreadyExistsException;
+import org.etjen.spring_boot_testing_ult.exception.EmployeeVersionMismatchException;
 import org.etjen.spring_boot_testing_ult.model.Employee;
 import org.etjen.spring_boot_testing_ult.service.EmployeeService;
 import org.hamcrest.CoreMatchers;
@@ -9,20 +16,24 @@ import org.junit.jupiter.api.Test;
 import org.mockito.BDDMockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
-@WebMvcTest
+@WebMvcTest(EmployeeController.class)
 public class EmployeeControllerTests {
     @Autowired
     private MockMvc mockMvc;
@@ -34,7 +45,7 @@ public class EmployeeControllerTests {
 
     @BeforeEach
     void setUp() {
-        this.employee = Employee.builder().id(1L).firstName("Test").lastName("Test").email("test@gmail.com").build();
+        this.employee = Employee.builder().id(1L).firstName("Test").lastName("Test").email("test@gmail.com").version(3L).build();
     }
 
     @Test
@@ -56,6 +67,43 @@ public class EmployeeControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
     }
 
+    @Test
+    void givenExistingEmail_whenCreateEmployee_thenReturnConflict() throws Exception {
+        // given
+        BDDMockito.given(employeeService.saveEmployee(any(Employee.class)))
+                .willThrow(new EmployeeAlreadyExistsException("Employee with same email already exists: " + employee.getEmail()));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+    }
+
+    @Test
+    void givenListOfEmployees_whenCreateEmployees_thenReturnSavedEmployees() throws Exception {
+        // given
+        List<Employee> employeeList = List.of(
+                employee,
+                Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build()
+        );
+        BDDMockito.given(employeeService.saveEmployees(any())).willAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post("/api/employee/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeList)));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(employeeList.size())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].email", CoreMatchers.is("test2@gmail.com")));
+    }
+
     @Test
     void givenListOfEmployees_whenGetAllEmployees_thenReturnListOfEmployees() throws Exception {
         // given
@@ -75,6 +123,118 @@ public class EmployeeControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(employeeList.size())));
     }
 
+    @Test
+    void givenCursorAndLimit_whenGetEmployeePage_thenReturnPageOfEmployees() throws Exception {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        String nextCursor = EmployeeCursor.encode(employee2.getId());
+        BDDMockito.given(employeeService.getEmployeePage(employee.getId(), 2)).willReturn(new EmployeePage(List.of(employee2), nextCursor));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/api/employee")
+                .param("after", EmployeeCursor.encode(employee.getId()))
+                .param("limit", "2"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].email", CoreMatchers.is(employee2.getEmail())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", CoreMatchers.is(nextCursor)));
+    }
+
+    @Test
+    void givenInvalidCursor_whenGetEmployeePage_thenReturnBadRequest() throws Exception {
+        // given
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/api/employee")
+                .param("after", "not-a-cursor")
+                .param("limit", "2"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void givenLimitAboveMaximum_whenGetEmployeePage_thenReturnBadRequest() throws Exception {
+        // given
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/api/employee")
+                .param("limit", "100000"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void givenQuery_whenSearchEmployees_thenReturnPageOfMatches() throws Exception {
+        // given
+        BDDMockito.given(employeeService.searchEmployees("tes", null, 20)).willReturn(new EmployeePage(List.of(employee), null));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/api/employee/search").param("q", "tes"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].email", CoreMatchers.is(employee.getEmail())));
+    }
+
+    @Test
+    void givenQueryShorterThanTrigram_whenSearchEmployees_thenReturnBadRequest() throws Exception {
+        // given
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/api/employee/search").param("q", " te "));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        BDDMockito.then(employeeService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void givenLimitAboveSearchMaximum_whenSearchEmployees_thenReturnBadRequest() throws Exception {
+        // given
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/api/employee/search").param("q", "test").param("limit", "101"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void givenListOfEmployees_whenExportEmployees_thenStreamOneJsonObjectPerLine() throws Exception {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        willAnswer(invocationOnMock -> {
+            Consumer<Employee> consumer = invocationOnMock.getArgument(0);
+            consumer.accept(employee);
+            consumer.accept(employee2);
+            return null;
+        }).given(employeeService).exportEmployees(any());
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/api/employee/export"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions resultActions = mockMvc.perform(asyncDispatch(mvcResult));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        objectMapper.writeValueAsString(employee) + "\n" + objectMapper.writeValueAsString(employee2) + "\n"));
+    }
+
     @Test
     void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
         // given
@@ -86,11 +246,43 @@ public class EmployeeControllerTests {
         // then
         resultActions
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.firstName", CoreMatchers.is(employee.getFirstName())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.lastName", CoreMatchers.is(employee.getLastName())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
     }
 
+    @Test
+    void givenCurrentETag_whenGetEmployeeById_thenReturnNotModifiedWithoutBody() throws Exception {
+        // given
+        BDDMockito.given(employeeService.getEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @Test
+    void givenOutdatedETag_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
+        // given
+        BDDMockito.given(employeeService.getEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2\""));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.version", CoreMatchers.is(3)));
+    }
+
     @Test
     void givenNonExistentEmployeeId_whenGetEmployeeById_thenReturnNotFound() throws Exception {
         // given
@@ -125,6 +317,62 @@ public class EmployeeControllerTests {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(updatedEmployee.getEmail())));
     }
 
+    @Test
+    void givenIfMatch_whenUpdateEmployee_thenUpdateExpectedVersion() throws Exception {
+        // given
+        Employee updatedEmployee = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        BDDMockito.given(employeeService.getEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeService.updateEmployee(argThat(e -> Long.valueOf(2L).equals(e.getVersion()))))
+                .willReturn(Employee.builder().id(employee.getId()).firstName("Test2").lastName("Test2").email("test2@gmail.com").version(3L).build());
+
+        // when
+        ResultActions resultActions = mockMvc.perform(put("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void givenStaleIfMatch_whenUpdateEmployee_thenReturnPreconditionFailed() throws Exception {
+        // given
+        Employee updatedEmployee = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        BDDMockito.given(employeeService.getEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeService.updateEmployee(any(Employee.class)))
+                .willThrow(new EmployeeVersionMismatchException("Employee 1 was changed since it was read"));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(put("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    @Test
+    void givenMalformedIfMatch_whenUpdateEmployee_thenReturnPreconditionFailedWithoutUpdating() throws Exception {
+        // given
+        Employee updatedEmployee = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+
+        // when
+        ResultActions resultActions = mockMvc.perform(put("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, "W/\"abc\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+        BDDMockito.then(employeeService).shouldHaveNoInteractions();
+    }
+
     @Test
     void givenNonExistentEmployeeIdAndEmployeeObject_whenUpdateEmployee_thenReturnNotFound() throws Exception {
         // given
@@ -144,15 +392,99 @@ public class EmployeeControllerTests {
     }
 
     @Test
-    void givenEmployeeId_whenDeleteEmployee_thenReturnOk() throws Exception {
+    void givenEmployeeIdAndPatch_whenPatchEmployee_thenReturnPatchedEmployee() throws Exception {
         // given
-        willDoNothing().given(employeeService).deleteEmployeeById(employee.getId());
+        EmployeePatch patch = new EmployeePatch(null, null, "patched@gmail.com");
+        Employee patchedEmployee = Employee.builder().id(employee.getId()).firstName(employee.getFirstName())
+                .lastName(employee.getLastName()).email(patch.email()).build();
+        BDDMockito.given(employeeService.patchEmployee(employee.getId(), patch, null)).willReturn(Optional.of(patchedEmployee));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(patch("/api/employee/{id}", employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"patched@gmail.com\"}"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName", CoreMatchers.is(employee.getFirstName())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", CoreMatchers.is(patch.email())));
+    }
+
+    @Test
+    void givenStaleIfMatch_whenPatchEmployee_thenReturnPreconditionFailed() throws Exception {
+        // given
+        EmployeePatch patch = new EmployeePatch("Test2", null, null);
+        BDDMockito.given(employeeService.patchEmployee(employee.getId(), patch, 2L))
+                .willThrow(new EmployeeVersionMismatchException("Employee 1 was changed since it was read"));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(patch("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Test2\"}"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    @Test
+    void givenNonExistentEmployeeIdAndPatch_whenPatchEmployee_thenReturnNotFound() throws Exception {
+        // given
+        BDDMockito.given(employeeService.patchEmployee(any(), any(), any())).willReturn(Optional.empty());
+
+        // when
+        ResultActions resultActions = mockMvc.perform(patch("/api/employee/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Test2\"}"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    void givenEmployeeId_whenDeleteEmployee_thenReturnNoContent() throws Exception {
+        // given
+        BDDMockito.given(employeeService.deleteEmployeeById(employee.getId())).willReturn(true);
+
+        // when
+        ResultActions resultActions = mockMvc.perform(delete("/api/employee/{id}", employee.getId()));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+    }
+
+    @Test
+    void givenNonExistentEmployeeId_whenDeleteEmployee_thenReturnNotFound() throws Exception {
+        // given
+        BDDMockito.given(employeeService.deleteEmployeeById(employee.getId())).willReturn(false);
 
         // when
         ResultActions resultActions = mockMvc.perform(delete("/api/employee/{id}", employee.getId()));
 
         // then
         resultActions
-                .andExpect(MockMvcResultMatchers.status().isOk());
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    void givenListOfIds_whenDeleteEmployees_thenReturnDeletedCount() throws Exception {
+        // given
+        List<Long> ids = List.of(1L, 2L, 3L);
+        BDDMockito.given(employeeService.deleteEmployees(ids)).willReturn(new BulkDeleteResult(3, 2));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(delete("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requested", CoreMatchers.is(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deleted", CoreMatchers.is(2)));
     }
 }
@@ -0,0 +1,138 @@
+package org.etjen.spring_boot_testing_ult.unit.controller;
+
+import org.etjen.spring_boot_testing_ult.controller.EmployeeImportController;
+import org.etjen.spring_boot_testing_ult.dto.ImportFormat;
+import org.etjen.spring_boot_testing_ult.dto.ImportJobStatus;
+import org.etjen.spring_boot_testing_ult.dto.ImportRowError;
+import org.etjen.spring_boot_testing_ult.exception.EmployeeImportRejectedException;
+import org.etjen.spring_boot_testing_ult.service.EmployeeImportService;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@WebMvcTest(EmployeeImportController.class)
+public class EmployeeImportControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockitoBean
+    private EmployeeImportService employeeImportService;
+
+    @Test
+    void givenCsvFile_whenStartImport_thenReturnAcceptedWithStatusLocation() throws Exception {
+        // given
+        ImportJobStatus status = status(UUID.randomUUID(), ImportFormat.CSV, ImportJobStatus.State.QUEUED, List.of());
+        BDDMockito.given(employeeImportService.startImport(eq(ImportFormat.CSV), any())).willReturn(status);
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post("/api/employee/imports")
+                .contentType("text/csv")
+                .content("firstName,lastName,email\nTest,Test,test@gmail.com\n"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LOCATION, CoreMatchers.endsWith("/api/employee/imports/" + status.id())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.state", CoreMatchers.is("QUEUED")));
+    }
+
+    @Test
+    void givenNdjsonFile_whenStartImport_thenStartNdjsonImport() throws Exception {
+        // given
+        ImportJobStatus status = status(UUID.randomUUID(), ImportFormat.NDJSON, ImportJobStatus.State.QUEUED, List.of());
+        BDDMockito.given(employeeImportService.startImport(eq(ImportFormat.NDJSON), any())).willReturn(status);
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post("/api/employee/imports")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"firstName\":\"Test\",\"lastName\":\"Test\",\"email\":\"test@gmail.com\"}\n"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.format", CoreMatchers.is("NDJSON")));
+    }
+
+    @Test
+    void givenUnsupportedContentType_whenStartImport_thenReturnUnsupportedMediaType() throws Exception {
+        // given
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post("/api/employee/imports")
+                .contentType(MediaType.APPLICATION_XML)
+                .content("<employees/>"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void givenFullQueue_whenStartImport_thenReturnServiceUnavailable() throws Exception {
+        // given
+        BDDMockito.given(employeeImportService.startImport(any(), any()))
+                .willThrow(new EmployeeImportRejectedException("Too many imports are queued, try again later"));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post("/api/employee/imports")
+                .contentType("text/csv")
+                .content("firstName,lastName,email\n"));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
+    }
+
+    @Test
+    void givenJobId_whenGetImportStatus_thenReturnProgressAndErrors() throws Exception {
+        // given
+        UUID id = UUID.randomUUID();
+        ImportJobStatus status = status(id, ImportFormat.CSV, ImportJobStatus.State.COMPLETED,
+                List.of(new ImportRowError(3, "Employee with same email already exists: test@gmail.com")));
+        BDDMockito.given(employeeImportService.getImportStatus(id)).willReturn(Optional.of(status));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/api/employee/imports/{id}", id));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.state", CoreMatchers.is("COMPLETED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.imported", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].line", CoreMatchers.is(3)));
+    }
+
+    @Test
+    void givenUnknownJobId_whenGetImportStatus_thenReturnNotFound() throws Exception {
+        // given
+        BDDMockito.given(employeeImportService.getImportStatus(any())).willReturn(Optional.empty());
+
+        // when
+        ResultActions resultActions = mockMvc.perform(get("/api/employee/imports/{id}", UUID.randomUUID()));
+
+        // then
+        resultActions
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    private static ImportJobStatus status(UUID id, ImportFormat format, ImportJobStatus.State state, List<ImportRowError> errors) {
+        return new ImportJobStatus(id, format, state, 100, 0, 2, 1, errors.size(), 0, errors, null, Instant.now(), null, null);
+    }
+}
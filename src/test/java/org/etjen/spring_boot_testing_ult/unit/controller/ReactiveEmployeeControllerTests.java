@@ -0,0 +1,416 @@
+package org.etjen.spring_boot_testing_ult.unit.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.etjen.spring_boot_testing_ult.controller.ReactiveEmployeeController;
+import org.etjen.spring_boot_testing_ult.dto.BulkDeleteResult;
+import org.etjen.spring_boot_testing_ult.dto.EmployeeCursor;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePage;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.exception.EmployeeAlreadyExistsException;
+import org.etjen.spring_boot_testing_ult.exception.EmployeeVersionMismatchException;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+
+@WebFluxTest(ReactiveEmployeeController.class)
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTests {
+    @Autowired
+    private WebTestClient webTestClient;
+    @MockitoBean
+    private ReactiveEmployeeService employeeService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        this.employee = Employee.builder().id(1L).firstName("Test").lastName("Test").email("test@gmail.com").version(3L).build();
+    }
+
+    @Test
+    void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+        // given
+        BDDMockito.given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocationOnMock -> Mono.just(invocationOnMock.getArgument(0)));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.post().uri("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(employee.getLastName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    void givenExistingEmail_whenCreateEmployee_thenReturnConflict() {
+        // given
+        BDDMockito.given(employeeService.saveEmployee(any(Employee.class)))
+                .willReturn(Mono.error(new EmployeeAlreadyExistsException("Employee with same email already exists: " + employee.getEmail())));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.post().uri("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void givenListOfEmployees_whenCreateEmployees_thenReturnSavedEmployees() {
+        // given
+        List<Employee> employeeList = List.of(
+                employee,
+                Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build()
+        );
+        BDDMockito.given(employeeService.saveEmployees(any())).willAnswer(invocationOnMock -> Flux.fromIterable(invocationOnMock.<List<Employee>>getArgument(0)));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.post().uri("/api/employee/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employeeList)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(employeeList.size())
+                .jsonPath("$[1].email").isEqualTo("test2@gmail.com");
+    }
+
+    @Test
+    void givenListOfEmployees_whenGetAllEmployees_thenReturnListOfEmployees() {
+        // given
+        List<Employee> employeeList = List.of(
+                employee,
+                Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build(),
+                Employee.builder().id(3L).firstName("Test3").lastName("Test3").email("test3@gmail.com").build()
+        );
+        BDDMockito.given(employeeService.getAllEmployees()).willReturn(Flux.fromIterable(employeeList));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get().uri("/api/employee").exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(employeeList.size());
+    }
+
+    @Test
+    void givenCursorAndLimit_whenGetEmployeePage_thenReturnPageOfEmployees() {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        String nextCursor = EmployeeCursor.encode(employee2.getId());
+        BDDMockito.given(employeeService.getEmployeePage(employee.getId(), 2)).willReturn(Mono.just(new EmployeePage(List.of(employee2), nextCursor)));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get()
+                .uri("/api/employee?after={after}&limit={limit}", EmployeeCursor.encode(employee.getId()), 2)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.size()").isEqualTo(1)
+                .jsonPath("$.content[0].email").isEqualTo(employee2.getEmail())
+                .jsonPath("$.nextCursor").isEqualTo(nextCursor);
+    }
+
+    @Test
+    void givenInvalidCursor_whenGetEmployeePage_thenReturnBadRequest() {
+        // given
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get()
+                .uri("/api/employee?after={after}&limit={limit}", "not-a-cursor", 2)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenLimitAboveMaximum_whenGetEmployeePage_thenReturnBadRequest() {
+        // given
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get()
+                .uri("/api/employee?limit={limit}", 100000)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenQuery_whenSearchEmployees_thenReturnPageOfMatches() {
+        // given
+        BDDMockito.given(employeeService.searchEmployees("test", null, 20)).willReturn(Mono.just(new EmployeePage(List.of(employee), null)));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get().uri("/api/employee/search?q={q}", "test").exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.size()").isEqualTo(1)
+                .jsonPath("$.content[0].email").isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    void givenQueryShorterThanATrigram_whenSearchEmployees_thenReturnBadRequest() {
+        // given
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get().uri("/api/employee/search?q={q}", "te").exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isBadRequest();
+        BDDMockito.then(employeeService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void givenListOfEmployees_whenExportEmployees_thenStreamOneJsonObjectPerLine() throws Exception {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        BDDMockito.given(employeeService.exportEmployees()).willReturn(Flux.just(employee, employee2));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get().uri("/api/employee/export").exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).isEqualTo(
+                        objectMapper.writeValueAsString(employee) + "\n" + objectMapper.writeValueAsString(employee2) + "\n");
+    }
+
+    @Test
+    void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
+        // given
+        BDDMockito.given(employeeService.getEmployeeById(any(Long.class))).willReturn(Mono.just(employee));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get().uri("/api/employee/{id}", employee.getId()).exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(employee.getLastName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    void givenCurrentETag_whenGetEmployeeById_thenReturnNotModifiedWithoutBody() {
+        // given
+        BDDMockito.given(employeeService.getEmployeeById(employee.getId())).willReturn(Mono.just(employee));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get().uri("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void givenNonExistentEmployeeId_whenGetEmployeeById_thenReturnNotFound() {
+        // given
+        Long employeeId = 1L;
+        BDDMockito.given(employeeService.getEmployeeById(any(Long.class))).willReturn(Mono.empty());
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get().uri("/api/employee/{id}", employeeId).exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenEmployeeIdAndEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
+        // given
+        Employee updatedEmployee = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        BDDMockito.given(employeeService.getEmployeeById(employee.getId())).willReturn(Mono.just(employee));
+        BDDMockito.given(employeeService.updateEmployee(any(Employee.class))).willAnswer(invocationOnMock -> Mono.just(invocationOnMock.getArgument(0)));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.put().uri("/api/employee/{id}", employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(employee.getId())
+                .jsonPath("$.version").isEqualTo(employee.getVersion())
+                .jsonPath("$.firstName").isEqualTo(updatedEmployee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(updatedEmployee.getLastName())
+                .jsonPath("$.email").isEqualTo(updatedEmployee.getEmail());
+    }
+
+    @Test
+    void givenStaleIfMatch_whenUpdateEmployee_thenReturnPreconditionFailed() {
+        // given
+        Employee updatedEmployee = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        BDDMockito.given(employeeService.getEmployeeById(employee.getId())).willReturn(Mono.just(employee));
+        BDDMockito.given(employeeService.updateEmployee(any(Employee.class)))
+                .willReturn(Mono.error(new EmployeeVersionMismatchException("Employee 1 was changed since it was read")));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.put().uri("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void givenNonExistentEmployeeIdAndEmployeeObject_whenUpdateEmployee_thenReturnNotFound() {
+        // given
+        Long employeeId = 1L;
+        Employee updatedEmployee = Employee.builder().firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        BDDMockito.given(employeeService.getEmployeeById(employeeId)).willReturn(Mono.empty());
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.put().uri("/api/employee/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenEmployeePatch_whenPatchEmployee_thenReturnPatchedEmployeeWithETag() {
+        // given
+        EmployeePatch patch = new EmployeePatch(null, null, "new@gmail.com");
+        Employee patchedEmployee = Employee.builder().id(1L).firstName("Test").lastName("Test").email("new@gmail.com").version(4L).build();
+        BDDMockito.given(employeeService.patchEmployee(employee.getId(), patch, 3L)).willReturn(Mono.just(patchedEmployee));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.patch().uri("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(patch)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"")
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("new@gmail.com")
+                .jsonPath("$.version").isEqualTo(4);
+    }
+
+    @Test
+    void givenNonExistentEmployeeId_whenPatchEmployee_thenReturnNotFound() {
+        // given
+        EmployeePatch patch = new EmployeePatch("New", null, null);
+        BDDMockito.given(employeeService.patchEmployee(employee.getId(), patch, null)).willReturn(Mono.empty());
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.patch().uri("/api/employee/{id}", employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(patch)
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenListOfIds_whenDeleteEmployees_thenReturnRequestedAndDeletedCounts() {
+        // given
+        BDDMockito.given(employeeService.deleteEmployees(List.of(1L, 2L))).willReturn(Mono.just(new BulkDeleteResult(2, 1)));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.method(HttpMethod.DELETE).uri("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(1L, 2L))
+                .exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.requested").isEqualTo(2)
+                .jsonPath("$.deleted").isEqualTo(1);
+    }
+
+    @Test
+    void givenEmployeeId_whenDeleteEmployee_thenReturnNoContent() {
+        // given
+        BDDMockito.given(employeeService.deleteEmployeeById(employee.getId())).willReturn(Mono.just(true));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.delete().uri("/api/employee/{id}", employee.getId()).exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void givenNonExistentEmployeeId_whenDeleteEmployee_thenReturnNotFound() {
+        // given
+        BDDMockito.given(employeeService.deleteEmployeeById(employee.getId())).willReturn(Mono.just(false));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.delete().uri("/api/employee/{id}", employee.getId()).exchange();
+
+        // then
+        responseSpec
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,124 @@
+package org.etjen.spring_boot_testing_ult.unit.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.etjen.spring_boot_testing_ult.datasource.ReadYourWrites;
+import org.etjen.spring_boot_testing_ult.datasource.ReadYourWritesFilter;
+import org.etjen.spring_boot_testing_ult.datasource.ReadYourWritesTracker;
+import org.etjen.spring_boot_testing_ult.event.EmployeeChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadYourWritesTests {
+    private final ReadYourWritesTracker readYourWritesTracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+    private final ReadYourWritesFilter readYourWritesFilter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void givenLocalChangeDuringRequest_whenEmployeesChanged_thenPinThreadAndSetCookie() {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("POST", "/api/employees"), response));
+        long before = System.currentTimeMillis();
+
+        // when
+        readYourWritesTracker.onEmployeesChanged(EmployeeChangedEvent.local(List.of(1L)));
+
+        // then
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isTrue();
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(Long.parseLong(cookie.getValue())).isEqualTo(ReadYourWrites.primaryUntil()).isGreaterThanOrEqualTo(before + 5_000);
+        assertThat(cookie.getMaxAge()).isEqualTo(5);
+    }
+
+    @Test
+    void givenRemoteChange_whenEmployeesChanged_thenLeaveThreadOnReplica() {
+        // given
+        EmployeeChangedEvent event = EmployeeChangedEvent.remote(List.of(1L));
+
+        // when
+        readYourWritesTracker.onEmployeesChanged(event);
+
+        // then
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void givenRecentWriteCookie_whenFiltered_thenPinForTheRequestOnly() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() + 5_000)));
+        AtomicBoolean pinnedDuringRequest = new AtomicBoolean();
+
+        // when
+        readYourWritesFilter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> pinnedDuringRequest.set(ReadYourWrites.isPinnedToPrimary()));
+
+        // then
+        assertThat(pinnedDuringRequest).isTrue();
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void givenCookieReachingPastTheStickinessWindow_whenFiltered_thenPinForTheWindowOnly() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(Long.MAX_VALUE)));
+        AtomicLong primaryUntil = new AtomicLong();
+
+        // when
+        readYourWritesFilter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> primaryUntil.set(ReadYourWrites.primaryUntil()));
+
+        // then
+        assertThat(primaryUntil.get()).isGreaterThan(System.currentTimeMillis()).isLessThanOrEqualTo(System.currentTimeMillis() + 5_000);
+    }
+
+    @Test
+    void givenWriteRequest_whenFiltered_thenPinForTheRequestOnly() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/employee/1");
+        AtomicBoolean pinnedDuringRequest = new AtomicBoolean();
+
+        // when
+        readYourWritesFilter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> pinnedDuringRequest.set(ReadYourWrites.isPinnedToPrimary()));
+
+        // then
+        assertThat(pinnedDuringRequest).isTrue();
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void givenExpiredOrMalformedCookie_whenFiltered_thenReadFromReplica() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() - 1)),
+                new Cookie(ReadYourWritesFilter.COOKIE_NAME, "soon"), new Cookie(ReadYourWritesFilter.COOKIE_NAME, ""),
+                new Cookie(ReadYourWritesFilter.COOKIE_NAME, "99999999999999999999"));
+        AtomicBoolean pinnedDuringRequest = new AtomicBoolean(true);
+
+        // when
+        readYourWritesFilter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> pinnedDuringRequest.set(ReadYourWrites.isPinnedToPrimary()));
+
+        // then
+        assertThat(pinnedDuringRequest).isFalse();
+    }
+}
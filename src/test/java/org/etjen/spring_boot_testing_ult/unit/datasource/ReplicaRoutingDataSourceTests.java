@@ -0,0 +1,98 @@
+package org.etjen.spring_boot_testing_ult.unit.datasource;
+
+import org.etjen.spring_boot_testing_ult.datasource.ReadYourWrites;
+import org.etjen.spring_boot_testing_ult.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ReplicaRoutingDataSourceTests {
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        given(primary.getConnection()).willReturn(primaryConnection);
+        given(replica.getConnection()).willReturn(replicaConnection);
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(primary, replica);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void givenReadOnlyConnection_whenUsed_thenReadFromReplica() throws Exception {
+        // given
+        Connection connection = replicaRoutingDataSource.getConnection();
+        connection.setReadOnly(true);
+
+        // when
+        Connection target = ((ConnectionProxy) connection).getTargetConnection();
+
+        // then
+        assertThat(target).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void givenReadWriteConnection_whenUsed_thenUsePrimary() throws Exception {
+        // given
+        Connection connection = replicaRoutingDataSource.getConnection();
+
+        // when
+        Connection target = ((ConnectionProxy) connection).getTargetConnection();
+
+        // then
+        assertThat(target).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void givenThreadPinnedToPrimary_whenReadOnlyConnectionUsed_thenReadFromPrimary() throws Exception {
+        // given
+        ReadYourWrites.pinToPrimaryUntil(System.currentTimeMillis() + 60_000);
+        Connection connection = replicaRoutingDataSource.getConnection();
+        connection.setReadOnly(true);
+
+        // when
+        Connection target = ((ConnectionProxy) connection).getTargetConnection();
+
+        // then
+        assertThat(target).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void givenExpiredPin_whenReadOnlyConnectionUsed_thenReadFromReplica() throws Exception {
+        // given
+        ReadYourWrites.pinToPrimaryUntil(System.currentTimeMillis() - 1);
+        Connection connection = replicaRoutingDataSource.getConnection();
+        connection.setReadOnly(true);
+
+        // when
+        Connection target = ((ConnectionProxy) connection).getTargetConnection();
+
+        // then
+        assertThat(target).isSameAs(replicaConnection);
+    }
+}
@@ -0,0 +1,177 @@
+package org.etjen.spring_boot_testing_ult.unit.directory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.etjen.spring_boot_testing_ult.directory.EmployeeDirectory;
+import org.etjen.spring_boot_testing_ult.event.EmployeeChangedEvent;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeDirectoryTests {
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeDirectory employeeDirectory;
+    private Employee ann;
+    private Employee bob;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        employeeDirectory = new EmployeeDirectory(employeeRepository, entityManager, transactionManager, meterRegistry);
+        ann = employee(1L, "Ann", "Smith", "ann@gmail.com", 0L);
+        bob = employee(2L, "Bob", "Jones", "bob@gmail.com", 0L);
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void givenEmployeesTable_whenLoad_thenAnswerLookupsFromMemoryAndDetachEachEmployee() {
+        // given
+        given(employeeRepository.streamAll()).willReturn(Stream.of(ann, bob));
+
+        // when
+        employeeDirectory.load();
+
+        // then
+        assertThat(employeeDirectory.isReady()).isTrue();
+        assertThat(employeeDirectory.findById(2L)).containsSame(bob);
+        assertThat(employeeDirectory.findByEmail("ann@gmail.com")).containsSame(ann);
+        assertThat(employeeDirectory.findByFullName("Bob", "Jones")).containsSame(bob);
+        assertThat(employeeDirectory.findByEmail("nobody@gmail.com")).isEmpty();
+        verify(entityManager).detach(ann);
+        verify(entityManager).detach(bob);
+    }
+
+    @Test
+    void givenChangedEmail_whenEmployeesSaved_thenReindexACopyUnderTheNewEmailOnlyWithoutRereading() {
+        // given
+        given(employeeRepository.streamAll()).willReturn(Stream.of(ann));
+        employeeDirectory.load();
+        Employee renamed = employee(1L, "Ann", "Smith", "ann.smith@gmail.com", 1L);
+
+        // when
+        employeeDirectory.onEmployeesChanged(EmployeeChangedEvent.saved(List.of(renamed)));
+        renamed.setFirstName("Changed by the writer afterwards");
+
+        // then
+        Employee held = employeeDirectory.findByEmail("ann.smith@gmail.com").orElseThrow();
+        assertThat(held).isNotSameAs(renamed);
+        assertThat(held.getFirstName()).isEqualTo("Ann");
+        assertThat(held.getVersion()).isEqualTo(1L);
+        assertThat(employeeDirectory.findByEmail("ann@gmail.com")).isEmpty();
+        assertThat(employeeDirectory.findById(1L)).containsSame(held);
+        verify(employeeRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void givenDeletedEmployee_whenEmployeesChanged_thenDropItFromEveryIndex() {
+        // given
+        given(employeeRepository.streamAll()).willReturn(Stream.of(ann, bob));
+        employeeDirectory.load();
+        given(employeeRepository.findAllById(List.of(1L))).willReturn(List.of());
+
+        // when
+        employeeDirectory.onEmployeesChanged(EmployeeChangedEvent.remote(List.of(1L)));
+        employeeDirectory.stop();
+
+        // then
+        assertThat(employeeDirectory.findById(1L)).isEmpty();
+        assertThat(employeeDirectory.findByEmail("ann@gmail.com")).isEmpty();
+        assertThat(employeeDirectory.findByFullName("Ann", "Smith")).isEmpty();
+        assertThat(employeeDirectory.findById(2L)).containsSame(bob);
+    }
+
+    @Test
+    void givenOlderVersion_whenEmployeesChanged_thenKeepTheNewerOne() {
+        // given
+        Employee current = employee(1L, "Ann", "Smith", "ann@gmail.com", 5L);
+        given(employeeRepository.streamAll()).willReturn(Stream.of(current));
+        employeeDirectory.load();
+        given(employeeRepository.findAllById(List.of(1L))).willReturn(List.of(employee(1L, "Ann", "Old", "ann@gmail.com", 4L)));
+
+        // when
+        employeeDirectory.onEmployeesChanged(EmployeeChangedEvent.remote(List.of(1L)));
+        employeeDirectory.stop();
+
+        // then
+        assertThat(employeeDirectory.findById(1L)).containsSame(current);
+    }
+
+    @Test
+    void givenLocalDeleteWhileRemoteChangeIsReread_whenRefreshCompletes_thenDoNotPutTheRowBack() {
+        // given
+        given(employeeRepository.streamAll()).willReturn(Stream.of(ann, bob));
+        employeeDirectory.load();
+        Employee remotelyChanged = employee(1L, "Ann", "Remote", "ann@gmail.com", 1L);
+        given(employeeRepository.findAllById(List.of(1L))).willAnswer(invocation -> {
+            // the local delete commits after the row was read
+            employeeDirectory.onEmployeesChanged(EmployeeChangedEvent.deleted(List.of(1L)));
+            return List.of(remotelyChanged);
+        });
+
+        // when
+        employeeDirectory.onEmployeesChanged(EmployeeChangedEvent.remote(List.of(1L)));
+        employeeDirectory.stop();
+
+        // then
+        assertThat(employeeDirectory.findById(1L)).isEmpty();
+        assertThat(employeeDirectory.findByEmail("ann@gmail.com")).isEmpty();
+        assertThat(employeeDirectory.findById(2L)).containsSame(bob);
+    }
+
+    @Test
+    void givenSharedFullName_whenFindByFullName_thenReturnLowestIdUntilItIsGone() {
+        // given
+        Employee namesake = employee(3L, "Ann", "Smith", "other.ann@gmail.com", 0L);
+        given(employeeRepository.streamAll()).willReturn(Stream.of(ann, namesake));
+        employeeDirectory.load();
+
+        // when
+        Employee beforeDelete = employeeDirectory.findByFullName("Ann", "Smith").orElseThrow();
+        employeeDirectory.onEmployeesChanged(EmployeeChangedEvent.deleted(List.of(1L)));
+        Employee afterDelete = employeeDirectory.findByFullName("Ann", "Smith").orElseThrow();
+
+        // then
+        assertThat(beforeDelete).isSameAs(ann);
+        assertThat(afterDelete).isSameAs(namesake);
+    }
+
+    @Test
+    void givenLoadedEmployees_whenScrapingGauges_thenReportSizeAndEstimatedMemory() {
+        // given
+        given(employeeRepository.streamAll()).willReturn(Stream.of(ann, bob));
+
+        // when
+        employeeDirectory.load();
+
+        // then
+        assertThat(meterRegistry.get("employee.directory.size").gauge().value()).isEqualTo(2);
+        double memory = meterRegistry.get("employee.directory.memory").gauge().value();
+        assertThat(memory).isGreaterThan(2 * 300);
+        employeeDirectory.onEmployeesChanged(EmployeeChangedEvent.deleted(List.of(2L)));
+        assertThat(meterRegistry.get("employee.directory.memory").gauge().value()).isLessThan(memory);
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName, String email, Long version) {
+        return Employee.builder().id(id).firstName(firstName).lastName(lastName).email(email).version(version).build();
+    }
+}
@@ -0,0 +1,110 @@
+package org.etjen.spring_boot_testing_ult.unit.event;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.etjen.spring_boot_testing_ult.directory.EmployeeDirectory;
+import org.etjen.spring_boot_testing_ult.event.EmployeeChangeEvictor;
+import org.etjen.spring_boot_testing_ult.event.EmployeeChangedEvent;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.transaction.event.TransactionalApplicationListenerMethodAdapter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_EMAIL;
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_FULL_NAME;
+import static org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService.EMPLOYEES_BY_ID;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeChangeEvictorTests {
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private Cache secondLevelCache;
+    private CacheManager cacheManager;
+    private EmployeeChangeEvictor employeeChangeEvictor;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(EMPLOYEES_BY_ID, EMPLOYEES_BY_EMAIL, EMPLOYEES_BY_FULL_NAME);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("cacheManager", cacheManager);
+        employeeChangeEvictor = new EmployeeChangeEvictor(beanFactory.getBeanProvider(CacheManager.class), entityManagerFactory);
+        cacheManager.getCache(EMPLOYEES_BY_ID).put(1L, "first");
+        cacheManager.getCache(EMPLOYEES_BY_ID).put(2L, "second");
+        cacheManager.getCache(EMPLOYEES_BY_EMAIL).put("first@gmail.com", "first");
+        cacheManager.getCache(EMPLOYEES_BY_FULL_NAME).put(List.of("First", "Employee"), "first");
+    }
+
+    @Test
+    void givenRemoteChange_whenEmployeesChanged_thenEvictChangedIdsAndClearLookupCaches() {
+        // given
+        given(entityManagerFactory.getCache()).willReturn(secondLevelCache);
+
+        // when
+        employeeChangeEvictor.onEmployeesChanged(EmployeeChangedEvent.remote(List.of(1L)));
+
+        // then
+        assertThat(cacheManager.getCache(EMPLOYEES_BY_ID).get(1L)).isNull();
+        assertThat(cacheManager.getCache(EMPLOYEES_BY_ID).get(2L)).isNotNull();
+        assertThat(cacheManager.getCache(EMPLOYEES_BY_EMAIL).get("first@gmail.com")).isNull();
+        assertThat(cacheManager.getCache(EMPLOYEES_BY_FULL_NAME).get(List.of("First", "Employee"))).isNull();
+        verify(secondLevelCache).evict(Employee.class, 1L);
+    }
+
+    @Test
+    void givenRemoteEverythingChanged_whenEmployeesChanged_thenClearEveryCache() {
+        // given
+        given(entityManagerFactory.getCache()).willReturn(secondLevelCache);
+
+        // when
+        employeeChangeEvictor.onEmployeesChanged(EmployeeChangedEvent.remoteEverything());
+
+        // then
+        assertThat(cacheManager.getCache(EMPLOYEES_BY_ID).get(2L)).isNull();
+        verify(secondLevelCache).evict(Employee.class);
+    }
+
+    @Test
+    void givenLocalChange_whenEmployeesChanged_thenLeaveCachesToTheCachingService() {
+        // given
+        EmployeeChangedEvent event = EmployeeChangedEvent.local(List.of(1L));
+
+        // when
+        employeeChangeEvictor.onEmployeesChanged(event);
+
+        // then
+        assertThat(cacheManager.getCache(EMPLOYEES_BY_ID).get(1L)).isNotNull();
+        verifyNoInteractions(entityManagerFactory);
+    }
+
+    @Test
+    void givenDirectoryListening_whenListenersOrdered_thenEvictBeforeDirectoryRereads() throws Exception {
+        // given
+        List<ApplicationListenerMethodAdapter> listeners = new ArrayList<>(List.of(
+                new TransactionalApplicationListenerMethodAdapter("employeeDirectory", EmployeeDirectory.class,
+                        EmployeeDirectory.class.getMethod("onEmployeesChanged", EmployeeChangedEvent.class)),
+                new ApplicationListenerMethodAdapter("employeeChangeEvictor", EmployeeChangeEvictor.class,
+                        EmployeeChangeEvictor.class.getMethod("onEmployeesChanged", EmployeeChangedEvent.class))));
+
+        // when
+        AnnotationAwareOrderComparator.sort(listeners);
+
+        // then
+        assertThat(listeners).extracting(ApplicationListenerMethodAdapter::getListenerId)
+                .containsExactly(EmployeeChangeEvictor.class.getName() + ".onEmployeesChanged(" + EmployeeChangedEvent.class.getName() + ")",
+                        EmployeeDirectory.class.getName() + ".onEmployeesChanged(" + EmployeeChangedEvent.class.getName() + ")");
+    }
+}
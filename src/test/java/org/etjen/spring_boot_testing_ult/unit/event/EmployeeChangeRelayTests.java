@@ -0,0 +1,89 @@
+package org.etjen.spring_boot_testing_ult.unit.event;
+
+import org.etjen.spring_boot_testing_ult.event.EmployeeChangeRelay;
+import org.etjen.spring_boot_testing_ult.event.EmployeeChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeChangeRelayTests {
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    private EmployeeChangeRelay employeeChangeRelay;
+
+    @BeforeEach
+    void setUp() {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl("jdbc:postgresql://localhost:5432/tests");
+        employeeChangeRelay = new EmployeeChangeRelay(jdbcTemplate, dataSourceProperties, eventPublisher,
+                Duration.ofMillis(500), Duration.ofSeconds(5), Duration.ofMillis(100));
+    }
+
+    @Test
+    void givenBurstOfLocalChanges_whenSend_thenNotifyThemTogetherOnce() {
+        // given
+        List<EmployeeChangedEvent> events = List.of(EmployeeChangedEvent.local(List.of(1L, 2L)),
+                EmployeeChangedEvent.local(List.of(2L)), EmployeeChangedEvent.local(List.of(3L)));
+
+        // when
+        events.forEach(employeeChangeRelay::send);
+        employeeChangeRelay.stop();
+
+        // then
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).query(eq(NOTIFY), any(ResultSetExtractor.class), eq(EmployeeChangeRelay.CHANNEL), payload.capture());
+        assertThat((String) payload.getValue()).endsWith(":1,2,3");
+    }
+
+    @Test
+    void givenRemoteChange_whenSend_thenDoNotNotifyAgain() {
+        // given
+        EmployeeChangedEvent event = EmployeeChangedEvent.remote(List.of(1L));
+
+        // when
+        employeeChangeRelay.send(event);
+        employeeChangeRelay.stop();
+
+        // then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void givenMoreIdsThanFitOnePayload_whenSend_thenSplitThemOverSeveralNotifications() {
+        // given
+        List<Long> ids = LongStream.rangeClosed(1_000_000, 1_002_000).boxed().toList();
+
+        // when
+        employeeChangeRelay.send(EmployeeChangedEvent.local(ids));
+        employeeChangeRelay.stop();
+
+        // then
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, atLeast(2)).query(eq(NOTIFY), any(ResultSetExtractor.class), eq(EmployeeChangeRelay.CHANNEL), payload.capture());
+        assertThat(payload.getAllValues()).allSatisfy(value -> assertThat((String) value).hasSizeLessThan(8000));
+        assertThat(payload.getAllValues().stream()
+                .flatMap(value -> List.of(((String) value).substring(((String) value).indexOf(':') + 1).split(",")).stream())
+                .map(Long::valueOf)
+                .toList()).isEqualTo(ids);
+    }
+}
@@ -0,0 +1,68 @@
+package org.etjen.spring_boot_testing_ult.unit.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.etjen.spring_boot_testing_ult.metrics.StatementCounter;
+import org.etjen.spring_boot_testing_ult.metrics.StatementCounter.StatementCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StatementCounterTests {
+    private StatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        statementCounter = new StatementCounter();
+    }
+
+    @Test
+    void givenExecutedStatements_whenCurrent_thenCountThemByType() {
+        // given
+        execute("select e1_0.id,e1_0.email from employees e1_0 where e1_0.id=?");
+        execute("select nextval('employees_seq')");
+        execute("insert into employees (email,first_name,last_name,id) values (?,?,?,?)");
+        execute("  UPDATE employees SET email = ? WHERE id = ?");
+        execute("delete from employees where id=?");
+        execute("SET LOCAL statement_timeout = 1000");
+
+        // when
+        StatementCounts counts = statementCounter.current();
+
+        // then
+        assertThat(counts).isEqualTo(new StatementCounts(1, 1, 1, 1, 1, 1));
+        assertThat(counts.total()).isEqualTo(6);
+    }
+
+    @Test
+    void givenCountedStatements_whenReset_thenStartFromZero() {
+        // given
+        execute("select * from employees");
+
+        // when
+        statementCounter.reset();
+
+        // then
+        assertThat(statementCounter.current().total()).isZero();
+    }
+
+    @Test
+    void givenStatementsOnAnotherThread_whenCurrent_thenDontCountThem() throws InterruptedException {
+        // given
+        Thread other = Thread.ofVirtual().start(() -> execute("select * from employees"));
+        other.join();
+
+        // when
+        StatementCounts counts = statementCounter.current();
+
+        // then
+        assertThat(counts.total()).isZero();
+    }
+
+    private void execute(String sql) {
+        statementCounter.afterQuery(new ExecutionInfo(), List.of(new QueryInfo(sql)));
+    }
+}
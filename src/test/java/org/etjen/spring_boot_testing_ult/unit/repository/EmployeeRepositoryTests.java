@@ -1,6 +1,7 @@
 package org.etjen.spring_boot_testing_ult.unit.repository;
 
 import jakarta.persistence.EntityManager;
+import org.etjen.spring_boot_testing_ult.config.JpaRepositoryConfig;
 import org.etjen.spring_boot_testing_ult.model.Employee;
 import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,10 +10,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.context.annotation.Import;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(JpaRepositoryConfig.class)
 public class EmployeeRepositoryTests {
 
     @Autowired
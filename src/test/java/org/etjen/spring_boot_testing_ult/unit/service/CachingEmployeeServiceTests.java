@@ -0,0 +1,161 @@
+package org.etjen.spring_boot_testing_ult.unit.service;
+
+import org.etjen.spring_boot_testing_ult.config.EmployeeCacheConfig;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.service.EmployeeService;
+import org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService;
+import org.etjen.spring_boot_testing_ult.service.custom.EmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = {EmployeeCacheConfig.class, CachingEmployeeService.class}, properties = "employee.cache.enabled=true")
+public class CachingEmployeeServiceTests {
+    @MockitoBean
+    private EmployeeServiceImpl employeeServiceImpl;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private CacheManager cacheManager;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        this.employee = Employee.builder().id(1L).firstName("Test").lastName("Test").email("test@gmail.com").build();
+    }
+
+    @Test
+    void givenEmployeeId_whenGetEmployeeByIdTwice_thenLoadOnce() {
+        // given
+        given(employeeServiceImpl.getEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when
+        employeeService.getEmployeeById(employee.getId());
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeById(employee.getId());
+
+        // then
+        assertThat(cachedEmployee).contains(employee);
+        verify(employeeServiceImpl, times(1)).getEmployeeById(employee.getId());
+    }
+
+    @Test
+    void givenUnknownEmail_whenGetEmployeeByEmailTwice_thenCacheTheMiss() {
+        // given
+        given(employeeServiceImpl.getEmployeeByEmail("nobody@gmail.com")).willReturn(Optional.empty());
+
+        // when
+        employeeService.getEmployeeByEmail("nobody@gmail.com");
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeByEmail("nobody@gmail.com");
+
+        // then
+        assertThat(cachedEmployee).isEmpty();
+        verify(employeeServiceImpl, times(1)).getEmployeeByEmail("nobody@gmail.com");
+    }
+
+    @Test
+    void givenCachedMissForEmail_whenSaveEmployee_thenEvictTheMissAndCacheById() {
+        // given
+        given(employeeServiceImpl.getEmployeeByEmail(employee.getEmail())).willReturn(Optional.empty(), Optional.of(employee));
+        given(employeeServiceImpl.saveEmployee(employee)).willReturn(employee);
+        employeeService.getEmployeeByEmail(employee.getEmail());
+
+        // when
+        employeeService.saveEmployee(employee);
+
+        // then
+        assertThat(employeeService.getEmployeeByEmail(employee.getEmail())).contains(employee);
+        assertThat(employeeService.getEmployeeById(employee.getId())).contains(employee);
+        verify(employeeServiceImpl, times(0)).getEmployeeById(employee.getId());
+    }
+
+    @Test
+    void givenCachedFullName_whenGetEmployeeByFullNameTwice_thenLoadOnce() {
+        // given
+        given(employeeServiceImpl.getEmployeeByFullName(employee.getFirstName(), employee.getLastName())).willReturn(Optional.of(employee));
+
+        // when
+        employeeService.getEmployeeByFullName(employee.getFirstName(), employee.getLastName());
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeByFullName(employee.getFirstName(), employee.getLastName());
+
+        // then
+        assertThat(cachedEmployee).contains(employee);
+        verify(employeeServiceImpl, times(1)).getEmployeeByFullName(employee.getFirstName(), employee.getLastName());
+    }
+
+    @Test
+    void givenCachedEmployee_whenUpdateEmployee_thenReturnUpdatedEmployeeFromCache() {
+        // given
+        Employee updatedEmployee = Employee.builder().id(1L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        given(employeeServiceImpl.getEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+        given(employeeServiceImpl.getEmployeeByEmail(employee.getEmail())).willReturn(Optional.of(employee), Optional.empty());
+        given(employeeServiceImpl.updateEmployee(updatedEmployee)).willReturn(updatedEmployee);
+        employeeService.getEmployeeById(employee.getId());
+        employeeService.getEmployeeByEmail(employee.getEmail());
+
+        // when
+        employeeService.updateEmployee(updatedEmployee);
+
+        // then
+        assertThat(employeeService.getEmployeeById(employee.getId())).contains(updatedEmployee);
+        assertThat(employeeService.getEmployeeByEmail(employee.getEmail())).isEmpty();
+        verify(employeeServiceImpl, times(1)).getEmployeeById(employee.getId());
+    }
+
+    @Test
+    void givenCachedEmployee_whenPatchEmployee_thenLoadAgain() {
+        // given
+        EmployeePatch patch = new EmployeePatch("Test2", null, null);
+        Employee patchedEmployee = Employee.builder().id(1L).firstName("Test2").lastName("Test").email("test@gmail.com").build();
+        given(employeeServiceImpl.getEmployeeById(employee.getId())).willReturn(Optional.of(employee), Optional.of(patchedEmployee));
+        given(employeeServiceImpl.patchEmployee(employee.getId(), patch, null)).willReturn(Optional.of(patchedEmployee));
+        employeeService.getEmployeeById(employee.getId());
+
+        // when
+        employeeService.patchEmployee(employee.getId(), patch, null);
+
+        // then
+        assertThat(employeeService.getEmployeeById(employee.getId())).contains(patchedEmployee);
+        verify(employeeServiceImpl, times(2)).getEmployeeById(employee.getId());
+    }
+
+    @Test
+    void givenCachedEmployees_whenDeleteEmployees_thenLoadAgain() {
+        // given
+        given(employeeServiceImpl.getEmployeeById(employee.getId())).willReturn(Optional.of(employee), Optional.empty());
+        employeeService.getEmployeeById(employee.getId());
+
+        // when
+        employeeService.deleteEmployees(List.of(employee.getId()));
+
+        // then
+        assertThat(employeeService.getEmployeeById(employee.getId())).isEmpty();
+        verify(employeeServiceImpl, times(2)).getEmployeeById(employee.getId());
+    }
+
+    @Test
+    void givenCachedEmployee_whenDeleteEmployeeById_thenLoadAgain() {
+        // given
+        given(employeeServiceImpl.getEmployeeById(employee.getId())).willReturn(Optional.of(employee), Optional.empty());
+        employeeService.getEmployeeById(employee.getId());
+
+        // when
+        employeeService.deleteEmployeeById(employee.getId());
+
+        // then
+        assertThat(employeeService.getEmployeeById(employee.getId())).isEmpty();
+        verify(employeeServiceImpl, times(2)).getEmployeeById(employee.getId());
+    }
+}
@@ -0,0 +1,214 @@
+package org.etjen.spring_boot_testing_ult.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.etjen.spring_boot_testing_ult.dto.ImportFormat;
+import org.etjen.spring_boot_testing_ult.dto.ImportJobStatus;
+import org.etjen.spring_boot_testing_ult.dto.ImportRowError;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.custom.CachingEmployeeService;
+import org.etjen.spring_boot_testing_ult.service.custom.EmployeeImportServiceImpl;
+import org.etjen.spring_boot_testing_ult.service.custom.EmployeeServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeImportServiceTests {
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private ObjectProvider<CacheManager> cacheManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeImportServiceImpl employeeImportService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        employeeImportService = new EmployeeImportServiceImpl(employeeRepository, transactionManager, new ObjectMapper(),
+                dataSource, cacheManager, eventPublisher, meterRegistry, 2, 4, 10, 100, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeImportService.destroy();
+    }
+
+    @Test
+    void givenCsvWithInvalidAndDuplicateRows_whenImport_thenImportTheRestAndReportEachRejectedLine() throws Exception {
+        // given
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of("taken@gmail.com"));
+        String csv = """
+                email,first_name,last_name
+                a@gmail.com,Ann,Smith
+                b@gmail.com,"Doe, Jr.",John
+                a@gmail.com,Ann,Again
+                taken@gmail.com,Taken,Already
+                c@gmail.com,,Nameless
+
+                "unterminated,Bad,Row
+                """;
+
+        // when
+        ImportJobStatus status = awaitFinished(employeeImportService.startImport(ImportFormat.CSV, content(csv)).id());
+
+        // then
+        assertThat(status.state()).isEqualTo(ImportJobStatus.State.COMPLETED);
+        assertThat(status.rowsRead()).isEqualTo(6);
+        assertThat(status.imported()).isEqualTo(2);
+        assertThat(status.failed()).isEqualTo(4);
+        assertThat(status.bytesRead()).isEqualTo(status.bytesTotal());
+        assertThat(status.errors()).extracting(ImportRowError::line).containsExactlyInAnyOrder(4L, 5L, 6L, 8L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Employee>> saved = ArgumentCaptor.forClass(List.class);
+        verify(employeeRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Employee::getFirstName).containsExactly("Ann", "Doe, Jr.");
+        assertThat(meterRegistry.counter(EmployeeServiceImpl.DUPLICATE_EMAIL_REJECTIONS, "operation", "import").count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenNdjsonWithMalformedLine_whenImport_thenIgnoreSuppliedIdsAndReportTheLine() throws Exception {
+        // given
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of());
+        String ndjson = """
+                {"id":42,"version":7,"firstName":"Ann","lastName":"Smith","email":"a@gmail.com"}
+                {"firstName":"Broken",
+                """;
+
+        // when
+        ImportJobStatus status = awaitFinished(employeeImportService.startImport(ImportFormat.NDJSON, content(ndjson)).id());
+
+        // then
+        assertThat(status.state()).isEqualTo(ImportJobStatus.State.COMPLETED);
+        assertThat(status.imported()).isEqualTo(1);
+        assertThat(status.errors()).extracting(ImportRowError::line).containsExactly(2L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Employee>> saved = ArgumentCaptor.forClass(List.class);
+        verify(employeeRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(employee -> {
+            assertThat(employee.getId()).isNull();
+            assertThat(employee.getVersion()).isNull();
+        });
+    }
+
+    @Test
+    void givenImportedRows_whenImport_thenEvictCachedMissesForTheirIds() throws Exception {
+        // given
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of());
+        given(employeeRepository.saveAll(any())).willReturn(List.of(Employee.builder().id(7L).firstName("Ann").lastName("Smith").email("a@gmail.com").build()));
+        CacheManager manager = new ConcurrentMapCacheManager(CachingEmployeeService.EMPLOYEES_BY_ID);
+        // looked up before the sequence handed the id out
+        manager.getCache(CachingEmployeeService.EMPLOYEES_BY_ID).put(7L, null);
+        willAnswer(invocation -> {
+            invocation.<Consumer<CacheManager>>getArgument(0).accept(manager);
+            return null;
+        }).given(cacheManager).ifAvailable(any());
+
+        // when
+        ImportJobStatus status = awaitFinished(employeeImportService.startImport(ImportFormat.CSV, content("email,firstName,lastName\na@gmail.com,Ann,Smith\n")).id());
+
+        // then
+        assertThat(status.state()).isEqualTo(ImportJobStatus.State.COMPLETED);
+        assertThat(manager.getCache(CachingEmployeeService.EMPLOYEES_BY_ID).get(7L)).isNull();
+    }
+
+    @Test
+    void givenBatchViolatingAnotherConstraint_whenImport_thenFailTheJobInsteadOfReportingDuplicates() throws Exception {
+        // given
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of());
+        willThrow(new DataIntegrityViolationException("could not execute batch",
+                new ConstraintViolationException("duplicate key", new SQLException(), "employees_pkey")))
+                .given(employeeRepository).flush();
+
+        // when
+        ImportJobStatus status = awaitFinished(employeeImportService.startImport(ImportFormat.CSV, content("email,firstName,lastName\na@gmail.com,Ann,Smith\n")).id());
+
+        // then
+        assertThat(status.state()).isEqualTo(ImportJobStatus.State.FAILED);
+        assertThat(status.failed()).isZero();
+        verify(employeeRepository, never()).saveAndFlush(any());
+        assertThat(meterRegistry.find(EmployeeServiceImpl.DUPLICATE_EMAIL_REJECTIONS).counter()).isNull();
+    }
+
+    @Test
+    void givenCsvWithoutRequiredColumns_whenImport_thenFailTheJobWithoutWriting() throws Exception {
+        // given
+        String csv = """
+                name,email
+                Ann Smith,a@gmail.com
+                """;
+
+        // when
+        ImportJobStatus status = awaitFinished(employeeImportService.startImport(ImportFormat.CSV, content(csv)).id());
+
+        // then
+        assertThat(status.state()).isEqualTo(ImportJobStatus.State.FAILED);
+        assertThat(status.failureReason()).contains("firstName, lastName and email");
+        verify(employeeRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void givenUnknownJobId_whenGetImportStatus_thenReturnEmpty() {
+        // given
+
+        // when
+
+        // then
+        assertThat(employeeImportService.getImportStatus(UUID.randomUUID())).isEmpty();
+    }
+
+    private ImportJobStatus awaitFinished(UUID id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ImportJobStatus status = employeeImportService.getImportStatus(id).orElseThrow();
+        while (!status.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = employeeImportService.getImportStatus(id).orElseThrow();
+        }
+        return status;
+    }
+
+    private static ByteArrayInputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,28 +1,54 @@
 package org.etjen.spring_boot_testing_ult.unit.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.etjen.spring_boot_testing_ult.directory.EmployeeDirectory;
+import org.etjen.spring_boot_testing_ult.dto.BulkDeleteResult;
+import org.etjen.spring_boot_testing_ult.dto.EmployeeCursor;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePage;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.event.EmployeeChangedEvent;
 import org.etjen.spring_boot_testing_ult.exception.EmployeeAlreadyExistsException;
+import org.etjen.spring_boot_testing_ult.exception.EmployeeVersionMismatchException;
 import org.etjen.spring_boot_testing_ult.model.Employee;
 import org.etjen.spring_boot_testing_ult.repository.EmployeeRepository;
 import org.etjen.spring_boot_testing_ult.service.custom.EmployeeServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EmployeeDirectory employeeDirectory;
     @InjectMocks
     private EmployeeServiceImpl employeeService;
     private Employee employee;
@@ -35,8 +61,7 @@ public class EmployeeServiceTests {
     @Test
     void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
         // given
-        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
 
         // when
         Employee savedEmployee = employeeService.saveEmployee(employee);
@@ -44,18 +69,78 @@ public class EmployeeServiceTests {
         // then
         assertThat(savedEmployee).isNotNull();
         assertThat(savedEmployee.getId()).isEqualTo(employee.getId());
+        verify(employeeRepository, never()).findByEmail(any());
+        verify(eventPublisher).publishEvent(EmployeeChangedEvent.saved(List.of(employee)));
     }
 
     @Test
     void givenExistingEmail_whenSaveEmployee_thenThrowEmployeeAlreadyExists() {
         // given
-        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(employee)).willThrow(constraintViolation("uk_employees_email"));
 
         // when
 
         // then
         assertThrows(EmployeeAlreadyExistsException.class, () -> employeeService.saveEmployee(employee));
-        verify(employeeRepository, never()).save(employee);
+        verify(employeeRepository, never()).findByEmail(any());
+        assertThat(meterRegistry.counter(EmployeeServiceImpl.DUPLICATE_EMAIL_REJECTIONS, "operation", "save").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenOtherConstraintViolation_whenSaveEmployee_thenRethrowIt() {
+        // given
+        given(employeeRepository.saveAndFlush(employee)).willThrow(constraintViolation("employees_pkey"));
+
+        // when
+
+        // then
+        assertThrows(DataIntegrityViolationException.class, () -> employeeService.saveEmployee(employee));
+        assertThat(meterRegistry.find(EmployeeServiceImpl.DUPLICATE_EMAIL_REJECTIONS).counter()).isNull();
+    }
+
+    @Test
+    void givenEmployeesList_whenSaveEmployees_thenSaveAllAndReturnSavedEmployees() {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        List<Employee> employees = List.of(employee, employee2);
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of());
+        given(employeeRepository.saveAll(employees)).willReturn(employees);
+
+        // when
+        List<Employee> savedEmployees = employeeService.saveEmployees(employees);
+
+        // then
+        assertThat(savedEmployees).containsExactly(employee, employee2);
+        verify(employeeRepository, times(1)).findExistingEmails(any());
+        verify(employeeRepository, never()).findByEmail(any());
+        verify(employeeRepository, times(1)).flush();
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void givenEmployeesListWithExistingEmail_whenSaveEmployees_thenThrowEmployeeAlreadyExists() {
+        // given
+        given(employeeRepository.findExistingEmails(new String[]{employee.getEmail()})).willReturn(List.of(employee.getEmail()));
+
+        // when
+
+        // then
+        assertThrows(EmployeeAlreadyExistsException.class, () -> employeeService.saveEmployees(List.of(employee)));
+        verify(employeeRepository, never()).saveAll(any());
+        assertThat(meterRegistry.counter(EmployeeServiceImpl.DUPLICATE_EMAIL_REJECTIONS, "operation", "batch").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenEmployeesListWithDuplicateEmail_whenSaveEmployees_thenThrowEmployeeAlreadyExistsWithoutQuerying() {
+        // given
+        Employee employee2 = Employee.builder().firstName("Test2").lastName("Test2").email(employee.getEmail()).build();
+
+        // when
+
+        // then
+        assertThrows(EmployeeAlreadyExistsException.class, () -> employeeService.saveEmployees(List.of(employee, employee2)));
+        verify(employeeRepository, never()).findExistingEmails(any());
+        verify(employeeRepository, never()).saveAll(any());
     }
 
     @Test
@@ -85,6 +170,78 @@ public class EmployeeServiceTests {
         assertThat(employeeList).isEmpty();
     }
 
+    @Test
+    void givenMoreEmployeesThanLimit_whenGetEmployeePage_thenReturnPageWithNextCursor() {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        Employee employee3 = Employee.builder().id(3L).firstName("Test3").lastName("Test3").email("test3@gmail.com").build();
+        given(employeeRepository.findPageAfter(0L, 3)).willReturn(List.of(employee, employee2, employee3));
+
+        // when
+        EmployeePage employeePage = employeeService.getEmployeePage(null, 2);
+
+        // then
+        assertThat(employeePage.content()).containsExactly(employee, employee2);
+        assertThat(EmployeeCursor.decode(employeePage.nextCursor())).isEqualTo(employee2.getId());
+    }
+
+    @Test
+    void givenQueryWithWildcards_whenSearchEmployees_thenSearchForThemLiterally() {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test_2@gmail.com").build();
+        given(employeeRepository.searchPageAfter("%test\\_2%", 1L, 2)).willReturn(List.of(employee2));
+
+        // when
+        EmployeePage employeePage = employeeService.searchEmployees(" Test_2 ", 1L, 1);
+
+        // then
+        assertThat(employeePage.content()).containsExactly(employee2);
+        assertThat(employeePage.nextCursor()).isNull();
+    }
+
+    @Test
+    void givenMoreMatchesThanLimit_whenSearchEmployees_thenReturnPageWithNextCursor() {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        given(employeeRepository.searchPageAfter("%test%", 0L, 2)).willReturn(List.of(employee, employee2));
+
+        // when
+        EmployeePage employeePage = employeeService.searchEmployees("test", null, 1);
+
+        // then
+        assertThat(employeePage.content()).containsExactly(employee);
+        assertThat(EmployeeCursor.decode(employeePage.nextCursor())).isEqualTo(employee.getId());
+    }
+
+    @Test
+    void givenLastPage_whenGetEmployeePage_thenReturnPageWithoutNextCursor() {
+        // given
+        given(employeeRepository.findPageAfter(employee.getId(), 3)).willReturn(List.of());
+
+        // when
+        EmployeePage employeePage = employeeService.getEmployeePage(employee.getId(), 2);
+
+        // then
+        assertThat(employeePage.content()).isEmpty();
+        assertThat(employeePage.nextCursor()).isNull();
+    }
+
+    @Test
+    void givenEmployeesStream_whenExportEmployees_thenPassEachEmployeeToConsumerAndDetachIt() {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        given(employeeRepository.streamAll()).willReturn(Stream.of(employee, employee2));
+        List<Employee> exportedEmployees = new ArrayList<>();
+
+        // when
+        employeeService.exportEmployees(exportedEmployees::add);
+
+        // then
+        assertThat(exportedEmployees).containsExactly(employee, employee2);
+        verify(entityManager, times(1)).detach(employee);
+        verify(entityManager, times(1)).detach(employee2);
+    }
+
     @Test
     void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
         // given
@@ -102,29 +259,251 @@ public class EmployeeServiceTests {
         assertThat(foundEmployee.get()).isSameAs(employee);
     }
 
+    @Test
+    void givenLoadedDirectory_whenGetEmployeeById_thenAnswerFromDirectoryWithoutQuerying() {
+        // given
+        given(employeeDirectory.isReady()).willReturn(true);
+        given(employeeDirectory.findById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when
+        Optional<Employee> foundEmployee = employeeService.getEmployeeById(employee.getId());
+
+        // then
+        assertThat(foundEmployee).containsSame(employee);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void givenLoadedDirectory_whenGetEmployeeByEmailAndFullName_thenAnswerFromDirectoryWithoutQuerying() {
+        // given
+        given(employeeDirectory.isReady()).willReturn(true);
+        given(employeeDirectory.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+        given(employeeDirectory.findByFullName(employee.getFirstName(), employee.getLastName())).willReturn(Optional.empty());
+
+        // when
+        Optional<Employee> byEmail = employeeService.getEmployeeByEmail(employee.getEmail());
+        Optional<Employee> byFullName = employeeService.getEmployeeByFullName(employee.getFirstName(), employee.getLastName());
+
+        // then
+        assertThat(byEmail).containsSame(employee);
+        assertThat(byFullName).isEmpty();
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void givenEmployeeEmail_whenGetEmployeeByEmail_thenReturnEmployeeObject() {
+        // given
+        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+
+        // when
+        Optional<Employee> foundEmployee = employeeService.getEmployeeByEmail(employee.getEmail());
+
+        // then
+        assertThat(foundEmployee).contains(employee);
+    }
+
+    @Test
+    void givenEmployeeFullName_whenGetEmployeeByFullName_thenReturnEmployeeObject() {
+        // given
+        given(employeeRepository.findByFullName(employee.getFirstName(), employee.getLastName())).willReturn(Optional.of(employee));
+
+        // when
+        Optional<Employee> foundEmployee = employeeService.getEmployeeByFullName(employee.getFirstName(), employee.getLastName());
+
+        // then
+        assertThat(foundEmployee).contains(employee);
+    }
+
     @Test
     void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployeeObject() {
         // given
         employee.setEmail("updatedTest@gmail.com");
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(currentEmployee(0L)));
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
 
         // when
         Employee updatedEmployee = employeeService.updateEmployee(employee);
 
         // then
-        verify(employeeRepository, times(1)).save(employee);
+        verify(employeeRepository, times(1)).saveAndFlush(employee);
         assertThat(updatedEmployee).isNotNull();
     }
 
     @Test
-    void givenEmployeeId_whenDeleteEmployeeById_then() {
+    void givenExistingEmail_whenUpdateEmployee_thenThrowEmployeeAlreadyExists() {
+        // given
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(currentEmployee(0L)));
+        given(employeeRepository.saveAndFlush(employee)).willThrow(constraintViolation("uk_employees_email"));
+
+        // when
+
+        // then
+        assertThrows(EmployeeAlreadyExistsException.class, () -> employeeService.updateEmployee(employee));
+    }
+
+    @Test
+    void givenStaleVersion_whenUpdateEmployee_thenThrowEmployeeVersionMismatch() {
+        // given
+        employee.setVersion(0L);
+        given(employeeRepository.saveAndFlush(employee)).willThrow(new ObjectOptimisticLockingFailureException(Employee.class, employee.getId()));
+
+        // when
+
+        // then
+        assertThrows(EmployeeVersionMismatchException.class, () -> employeeService.updateEmployee(employee));
+    }
+
+    @Test
+    void givenNoExpectedVersion_whenUpdateEmployee_thenUpdateCurrentVersion() {
+        // given
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(currentEmployee(3L)));
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+
+        // when
+        employeeService.updateEmployee(employee);
+
+        // then
+        verify(employeeRepository).saveAndFlush(argThat(e -> Long.valueOf(3L).equals(e.getVersion())));
+    }
+
+    @Test
+    void givenDeletedEmployee_whenUpdateEmployee_thenThrowEmployeeVersionMismatchWithoutSaving() {
+        // given
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.empty());
+
+        // when
+
+        // then
+        assertThrows(EmployeeVersionMismatchException.class, () -> employeeService.updateEmployee(employee));
+        verify(employeeRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void givenEmployeeIdAndPatch_whenPatchEmployee_thenReturnPatchedEmployee() {
+        // given
+        EmployeePatch patch = new EmployeePatch(null, null, "patched@gmail.com");
+        Employee patchedEmployee = Employee.builder().id(employee.getId()).firstName(employee.getFirstName())
+                .lastName(employee.getLastName()).email(patch.email()).build();
+        given(employeeRepository.patch(employee.getId(), patch, null)).willReturn(Optional.of(patchedEmployee));
+
+        // when
+        Optional<Employee> result = employeeService.patchEmployee(employee.getId(), patch, null);
+
+        // then
+        assertThat(result).contains(patchedEmployee);
+        verify(employeeRepository, never()).findById(any());
+    }
+
+    @Test
+    void givenEmptyPatch_whenPatchEmployee_thenReturnEmployeeWithoutUpdating() {
+        // given
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when
+        Optional<Employee> result = employeeService.patchEmployee(employee.getId(), new EmployeePatch(null, null, null), null);
+
+        // then
+        assertThat(result).contains(employee);
+        verify(employeeRepository, never()).patch(any(), any(), any());
+    }
+
+    @Test
+    void givenEmptyPatchWithStaleVersion_whenPatchEmployee_thenThrowEmployeeVersionMismatch() {
+        // given
+        employee.setVersion(3L);
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when
+
+        // then
+        assertThrows(EmployeeVersionMismatchException.class,
+                () -> employeeService.patchEmployee(employee.getId(), new EmployeePatch(null, null, null), 2L));
+    }
+
+    @Test
+    void givenStaleVersion_whenPatchEmployee_thenThrowEmployeeVersionMismatch() {
+        // given
+        EmployeePatch patch = new EmployeePatch("Test2", null, null);
+        given(employeeRepository.patch(employee.getId(), patch, 2L)).willThrow(new ObjectOptimisticLockingFailureException(Employee.class, employee.getId()));
+
+        // when
+
+        // then
+        assertThrows(EmployeeVersionMismatchException.class, () -> employeeService.patchEmployee(employee.getId(), patch, 2L));
+    }
+
+    @Test
+    void givenExistingEmail_whenPatchEmployee_thenThrowEmployeeAlreadyExists() {
+        // given
+        EmployeePatch patch = new EmployeePatch(null, null, "taken@gmail.com");
+        given(employeeRepository.patch(employee.getId(), patch, null)).willThrow(constraintViolation("uk_employees_email"));
+
+        // when
+
+        // then
+        assertThrows(EmployeeAlreadyExistsException.class, () -> employeeService.patchEmployee(employee.getId(), patch, null));
+        assertThat(meterRegistry.counter(EmployeeServiceImpl.DUPLICATE_EMAIL_REJECTIONS, "operation", "patch").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenEmployeeId_whenDeleteEmployeeById_thenDeleteWithoutLoadingIt() {
+        // given
+        given(employeeRepository.removeById(employee.getId())).willReturn(1);
+
+        // when
+        boolean deleted = employeeService.deleteEmployeeById(employee.getId());
+
+        // then
+        assertThat(deleted).isTrue();
+        verify(employeeRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(EmployeeChangedEvent.deleted(List.of(employee.getId())));
+    }
+
+    @Test
+    void givenNonExistentEmployeeId_whenDeleteEmployeeById_thenReturnFalse() {
         // given
-        willDoNothing().given(employeeRepository).deleteById(employee.getId());
+        given(employeeRepository.removeById(employee.getId())).willReturn(0);
 
         // when
-        employeeService.deleteEmployeeById(employee.getId());
+        boolean deleted = employeeService.deleteEmployeeById(employee.getId());
 
         // then
-        verify(employeeRepository, times(1)).deleteById(employee.getId());
+        assertThat(deleted).isFalse();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void givenIdsWithDuplicatesAndNulls_whenDeleteEmployees_thenDeleteDistinctIdsInOneCall() {
+        // given
+        given(employeeRepository.removeAllById(new Long[]{1L, 2L, 3L})).willReturn(2);
+
+        // when
+        BulkDeleteResult result = employeeService.deleteEmployees(Arrays.asList(1L, 2L, null, 2L, 3L));
+
+        // then
+        assertThat(result).isEqualTo(new BulkDeleteResult(3, 2));
+        verify(employeeRepository, times(1)).removeAllById(any());
+        verify(eventPublisher).publishEvent(EmployeeChangedEvent.deleted(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void givenEmptyIdList_whenDeleteEmployees_thenDeleteNothing() {
+        // given
+
+        // when
+        BulkDeleteResult result = employeeService.deleteEmployees(List.of());
+
+        // then
+        assertThat(result).isEqualTo(new BulkDeleteResult(0, 0));
+        verify(employeeRepository, never()).removeAllById(any());
+    }
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key value", new SQLException("duplicate key value"), constraintName));
+    }
+
+    private Employee currentEmployee(Long version) {
+        return Employee.builder().id(employee.getId()).firstName("Test").lastName("Test").email("test@gmail.com").version(version).build();
     }
 }
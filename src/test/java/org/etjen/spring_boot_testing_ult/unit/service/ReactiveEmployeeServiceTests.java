@@ -0,0 +1,369 @@
+package org.etjen.spring_boot_testing_ult.unit.service;
+
+import io.r2dbc.postgresql.api.ErrorDetails;
+import io.r2dbc.postgresql.api.PostgresqlException;
+import io.r2dbc.postgresql.message.backend.Field;
+import org.etjen.spring_boot_testing_ult.dto.BulkDeleteResult;
+import org.etjen.spring_boot_testing_ult.dto.EmployeeCursor;
+import org.etjen.spring_boot_testing_ult.dto.EmployeePatch;
+import org.etjen.spring_boot_testing_ult.exception.EmployeeAlreadyExistsException;
+import org.etjen.spring_boot_testing_ult.exception.EmployeeVersionMismatchException;
+import org.etjen.spring_boot_testing_ult.model.Employee;
+import org.etjen.spring_boot_testing_ult.repository.reactive.ReactiveEmployeeRepository;
+import org.etjen.spring_boot_testing_ult.service.custom.ReactiveEmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveEmployeeServiceTests {
+    @Mock
+    private ReactiveEmployeeRepository employeeRepository;
+    @InjectMocks
+    private ReactiveEmployeeServiceImpl employeeService;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        this.employee = Employee.builder().id(1L).firstName("Test").lastName("Test").email("test@gmail.com").build();
+    }
+
+    @Test
+    void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
+        // given
+        given(employeeRepository.save(employee)).willReturn(Mono.just(employee));
+
+        // when
+        Mono<Employee> savedEmployee = employeeService.saveEmployee(employee);
+
+        // then
+        StepVerifier.create(savedEmployee)
+                .assertNext(saved -> assertThat(saved.getId()).isEqualTo(employee.getId()))
+                .verifyComplete();
+        verify(employeeRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void givenExistingEmail_whenSaveEmployee_thenThrowEmployeeAlreadyExists() {
+        // given
+        given(employeeRepository.save(employee)).willReturn(Mono.error(constraintViolation("uk_employees_email")));
+
+        // when
+        Mono<Employee> savedEmployee = employeeService.saveEmployee(employee);
+
+        // then
+        StepVerifier.create(savedEmployee)
+                .verifyError(EmployeeAlreadyExistsException.class);
+    }
+
+    @Test
+    void givenOtherConstraintViolation_whenSaveEmployee_thenRethrowIt() {
+        // given
+        given(employeeRepository.save(employee)).willReturn(Mono.error(constraintViolation("employees_pkey")));
+
+        // when
+        Mono<Employee> savedEmployee = employeeService.saveEmployee(employee);
+
+        // then
+        StepVerifier.create(savedEmployee)
+                .verifyError(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void givenEmployeesList_whenSaveEmployees_thenSaveAllAndReturnSavedEmployees() {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        List<Employee> employees = List.of(employee, employee2);
+        given(employeeRepository.findExistingEmails(any())).willReturn(Flux.empty());
+        given(employeeRepository.saveAll(employees)).willReturn(Flux.fromIterable(employees));
+
+        // when
+        Flux<Employee> savedEmployees = employeeService.saveEmployees(employees);
+
+        // then
+        StepVerifier.create(savedEmployees)
+                .expectNext(employee, employee2)
+                .verifyComplete();
+        verify(employeeRepository, times(1)).findExistingEmails(any());
+    }
+
+    @Test
+    void givenEmployeesListWithExistingEmail_whenSaveEmployees_thenThrowEmployeeAlreadyExists() {
+        // given
+        given(employeeRepository.findExistingEmails(new String[]{employee.getEmail()})).willReturn(Flux.just(employee.getEmail()));
+
+        // when
+        Flux<Employee> savedEmployees = employeeService.saveEmployees(List.of(employee));
+
+        // then
+        StepVerifier.create(savedEmployees)
+                .verifyError(EmployeeAlreadyExistsException.class);
+        verify(employeeRepository, never()).saveAll(any(Iterable.class));
+    }
+
+    @Test
+    void givenEmployeesListWithDuplicateEmail_whenSaveEmployees_thenThrowEmployeeAlreadyExistsWithoutQuerying() {
+        // given
+        Employee employee2 = Employee.builder().firstName("Test2").lastName("Test2").email(employee.getEmail()).build();
+
+        // when
+        Flux<Employee> savedEmployees = employeeService.saveEmployees(List.of(employee, employee2));
+
+        // then
+        StepVerifier.create(savedEmployees)
+                .verifyError(EmployeeAlreadyExistsException.class);
+        verify(employeeRepository, never()).findExistingEmails(any());
+    }
+
+    @Test
+    void givenEmployeesList_whenGetAllEmployees_thenReturnEmployeesList() {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        given(employeeRepository.findAll()).willReturn(Flux.just(employee, employee2));
+
+        // when
+        Flux<Employee> employees = employeeService.getAllEmployees();
+
+        // then
+        StepVerifier.create(employees)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void givenMoreEmployeesThanLimit_whenGetEmployeePage_thenReturnPageWithNextCursor() {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        Employee employee3 = Employee.builder().id(3L).firstName("Test3").lastName("Test3").email("test3@gmail.com").build();
+        given(employeeRepository.findPageAfter(0L, 3)).willReturn(Flux.just(employee, employee2, employee3));
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.getEmployeePage(null, 2))
+                .assertNext(employeePage -> {
+                    assertThat(employeePage.content()).containsExactly(employee, employee2);
+                    assertThat(EmployeeCursor.decode(employeePage.nextCursor())).isEqualTo(employee2.getId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void givenLastPage_whenGetEmployeePage_thenReturnPageWithoutNextCursor() {
+        // given
+        given(employeeRepository.findPageAfter(employee.getId(), 3)).willReturn(Flux.empty());
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.getEmployeePage(employee.getId(), 2))
+                .assertNext(employeePage -> {
+                    assertThat(employeePage.content()).isEmpty();
+                    assertThat(employeePage.nextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
+        // given
+        given(employeeRepository.findById(employee.getId())).willReturn(Mono.just(employee));
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.getEmployeeById(employee.getId()))
+                .expectNext(employee)
+                .verifyComplete();
+    }
+
+    @Test
+    void givenEmployeeEmail_whenGetEmployeeByEmail_thenReturnEmployeeObject() {
+        // given
+        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Mono.just(employee));
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.getEmployeeByEmail(employee.getEmail()))
+                .expectNext(employee)
+                .verifyComplete();
+    }
+
+    @Test
+    void givenEmployeeFullName_whenGetEmployeeByFullName_thenReturnEmployeeObject() {
+        // given
+        given(employeeRepository.findByFullName(employee.getFirstName(), employee.getLastName())).willReturn(Mono.just(employee));
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.getEmployeeByFullName(employee.getFirstName(), employee.getLastName()))
+                .expectNext(employee)
+                .verifyComplete();
+    }
+
+    @Test
+    void givenExistingEmail_whenUpdateEmployee_thenThrowEmployeeAlreadyExists() {
+        // given
+        given(employeeRepository.updateIfVersion(employee.getId(), employee.getVersion(), employee.getFirstName(), employee.getLastName(), employee.getEmail()))
+                .willReturn(Mono.error(constraintViolation("uk_employees_email")));
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.updateEmployee(employee))
+                .verifyError(EmployeeAlreadyExistsException.class);
+    }
+
+    @Test
+    void givenStaleVersion_whenUpdateEmployee_thenThrowEmployeeVersionMismatch() {
+        // given
+        given(employeeRepository.updateIfVersion(employee.getId(), employee.getVersion(), employee.getFirstName(), employee.getLastName(), employee.getEmail()))
+                .willReturn(Mono.empty());
+        given(employeeRepository.existsById(employee.getId())).willReturn(Mono.just(true));
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.updateEmployee(employee))
+                .verifyError(EmployeeVersionMismatchException.class);
+    }
+
+    @Test
+    void givenDeletedEmployee_whenUpdateEmployee_thenCompleteEmpty() {
+        // given
+        given(employeeRepository.updateIfVersion(employee.getId(), employee.getVersion(), employee.getFirstName(), employee.getLastName(), employee.getEmail()))
+                .willReturn(Mono.empty());
+        given(employeeRepository.existsById(employee.getId())).willReturn(Mono.just(false));
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.updateEmployee(employee))
+                .verifyComplete();
+    }
+
+    @Test
+    void givenPatchWithoutExpectedVersion_whenPatchEmployee_thenUpdateOnlyTheGivenFields() {
+        // given
+        Employee patchedEmployee = Employee.builder().id(1L).firstName("Test").lastName("Test").email("new@gmail.com").version(1L).build();
+        given(employeeRepository.patch(employee.getId(), null, null, "new@gmail.com")).willReturn(Mono.just(patchedEmployee));
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.patchEmployee(employee.getId(), new EmployeePatch(null, null, "new@gmail.com"), null))
+                .expectNext(patchedEmployee)
+                .verifyComplete();
+    }
+
+    @Test
+    void givenStaleVersion_whenPatchEmployee_thenThrowEmployeeVersionMismatch() {
+        // given
+        given(employeeRepository.patchIfVersion(employee.getId(), 2L, "New", null, null)).willReturn(Mono.empty());
+        given(employeeRepository.existsById(employee.getId())).willReturn(Mono.just(true));
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.patchEmployee(employee.getId(), new EmployeePatch("New", null, null), 2L))
+                .verifyError(EmployeeVersionMismatchException.class);
+    }
+
+    @Test
+    void givenMoreEmployeesThanLimit_whenSearchEmployees_thenMatchTheEscapedQueryAnywhere() {
+        // given
+        Employee employee2 = Employee.builder().id(2L).firstName("Test2").lastName("Test2").email("test2@gmail.com").build();
+        given(employeeRepository.searchPageAfter("%test\\_%", 0L, 2)).willReturn(Flux.just(employee, employee2));
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.searchEmployees(" Test_ ", null, 1))
+                .assertNext(employeePage -> {
+                    assertThat(employeePage.content()).containsExactly(employee);
+                    assertThat(EmployeeCursor.decode(employeePage.nextCursor())).isEqualTo(employee.getId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void givenEmployeeId_whenDeleteEmployeeById_thenReturnWhetherItExisted() {
+        // given
+        given(employeeRepository.removeById(employee.getId())).willReturn(Mono.just(1L), Mono.just(0L));
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.deleteEmployeeById(employee.getId()))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(employeeService.deleteEmployeeById(employee.getId()))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void givenIdsWithDuplicatesAndNulls_whenDeleteEmployees_thenDeleteDistinctIdsInOneStatement() {
+        // given
+        given(employeeRepository.removeAllById(new Long[]{1L, 2L, 3L})).willReturn(Mono.just(2L));
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.deleteEmployees(Arrays.asList(1L, 2L, null, 2L, 3L)))
+                .expectNext(new BulkDeleteResult(3, 2))
+                .verifyComplete();
+    }
+
+    @Test
+    void givenEmptyIdList_whenDeleteEmployees_thenDeleteNothing() {
+        // given
+
+        // when
+
+        // then
+        StepVerifier.create(employeeService.deleteEmployees(List.of()))
+                .expectNext(new BulkDeleteResult(0, 0))
+                .verifyComplete();
+        verifyNoInteractions(employeeRepository);
+    }
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("executeMany", new PostgresqlViolation(constraintName));
+    }
+
+    private static class PostgresqlViolation extends RuntimeException implements PostgresqlException {
+        private final ErrorDetails errorDetails;
+
+        PostgresqlViolation(String constraintName) {
+            super("duplicate key value");
+            this.errorDetails = new ErrorDetails(List.of(
+                    new Field(Field.FieldType.SEVERITY_LOCALIZED, "ERROR"),
+                    new Field(Field.FieldType.CODE, "23505"),
+                    new Field(Field.FieldType.MESSAGE, "duplicate key value"),
+                    new Field(Field.FieldType.CONSTRAINT_NAME, constraintName)));
+        }
+
+        @Override
+        public ErrorDetails getErrorDetails() {
+            return errorDetails;
+        }
+    }
+}